@@ -0,0 +1,45 @@
+package co.edu.uniquindio.application.benchmarks;
+
+import co.edu.uniquindio.application.loadtest.EmbeddedApplication;
+import co.edu.uniquindio.application.loadtest.SyntheticDataGenerator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Aplicación embebida sobre H2 con un dataset sintético del tamaño pedido (número de reservas),
+ * más atajos para elegir alojamientos y usuarios al azar dentro de los benchmarks.
+ */
+public final class BenchmarkDataset {
+
+    public static final String[] CITIES = SyntheticDataGenerator.CITIES;
+
+    private final EmbeddedApplication application;
+    private final long[] placeIds;
+    private final String[] userEmails;
+
+    private BenchmarkDataset(EmbeddedApplication application) {
+        this.application = application;
+        this.placeIds = application.dataset().placeIds();
+        this.userEmails = application.dataset().userEmails();
+    }
+
+    public static BenchmarkDataset start(int bookings) {
+        return new BenchmarkDataset(EmbeddedApplication.start(bookings, 42L));
+    }
+
+    public <T> T bean(Class<T> type) {
+        return application.bean(type);
+    }
+
+    public long randomPlaceId(SplittableRandom random) {
+        return placeIds[random.nextInt(placeIds.length)];
+    }
+
+    public String randomUserEmail(SplittableRandom random) {
+        return userEmails[random.nextInt(userEmails.length)];
+    }
+
+    public void close() {
+        application.close();
+    }
+}
@@ -0,0 +1,54 @@
+package co.edu.uniquindio.application.benchmarks;
+
+import co.edu.uniquindio.application.dto.booking.CreateBookingDTO;
+import co.edu.uniquindio.application.exceptions.ValidationException;
+import co.edu.uniquindio.application.services.BookingService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creación de reservas (BookingServiceImpl.create): validación, índice de disponibilidad, insert y outbox.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BookingServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int bookings;
+
+    private BenchmarkDataset dataset;
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.start(bookings);
+        bookingService = dataset.bean(BookingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+        final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public void create(ThreadRandom state, Blackhole blackhole) throws Exception {
+        // Fechas posteriores al dataset sembrado: la mayoría pasa la validación de disponibilidad
+        LocalDate checkIn = LocalDate.now().plusDays(400 + state.random.nextInt(3_000));
+        CreateBookingDTO dto = new CreateBookingDTO(checkIn, checkIn.plusDays(2), dataset.randomPlaceId(state.random), 1);
+        try {
+            blackhole.consume(bookingService.create(dto, dataset.randomUserEmail(state.random)));
+        } catch (ValidationException e) {
+            blackhole.consume(e);
+        }
+    }
+}
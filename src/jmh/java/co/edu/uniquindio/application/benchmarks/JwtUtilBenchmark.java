@@ -0,0 +1,71 @@
+package co.edu.uniquindio.application.benchmarks;
+
+import co.edu.uniquindio.application.config.jwt.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generación y verificación de tokens. "cached" mide el camino con la caché de claims verificados;
+ * "verifySignature" usa una instancia sin caché, que valida la firma HMAC en cada llamada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "EL_SECRETO_MAS_SEGURO_DEL_MUNDO_MUNDIAL_Y_QUE_NUNCA_DEBERIA_ESTAR_AQUI";
+
+    private JwtUtil cachedJwt;
+    private JwtUtil uncachedJwt;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cachedJwt = jwtUtil(10_000);
+        uncachedJwt = jwtUtil(0);
+        token = cachedJwt.generateToken("bench-user-1", "bench1@example.com");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedJwt.generateToken("bench-user-1", "bench1@example.com");
+    }
+
+    @Benchmark
+    public Optional<Claims> parseCached() {
+        return cachedJwt.parseClaims(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> verifySignature() {
+        return uncachedJwt.parseClaims(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return cachedJwt.validateToken(token);
+    }
+
+    // JwtUtil toma su configuración de @Value; aquí se inyecta a mano para no levantar Spring
+    private static JwtUtil jwtUtil(long cacheMaxSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        setField(jwtUtil, "secret", SECRET);
+        setField(jwtUtil, "expirationMs", 86_400_000L);
+        setField(jwtUtil, "cacheMaxSize", cacheMaxSize);
+        Method init = ReflectionUtils.findMethod(JwtUtil.class, "init");
+        ReflectionUtils.makeAccessible(init);
+        ReflectionUtils.invokeMethod(init, jwtUtil);
+        return jwtUtil;
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        var field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,105 @@
+package co.edu.uniquindio.application.benchmarks;
+
+import co.edu.uniquindio.application.dto.place.ItemPlaceDTO;
+import co.edu.uniquindio.application.dto.place.PlaceDetailDTO;
+import co.edu.uniquindio.application.dto.place.SearchPlaceDTO;
+import co.edu.uniquindio.application.services.PlaceService;
+import co.edu.uniquindio.application.services.impl.PlaceDetailCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda y detalle de alojamientos (PlaceServiceImpl.searchPlaces / getPlaceDetail).
+ * Cada llamada corre en una transacción de solo lectura, como la sesión que open-in-view abre en una
+ * petición web: PlaceServiceImpl no es transaccional y las colecciones perezosas (images) necesitan sesión.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PlaceServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int bookings;
+
+    private BenchmarkDataset dataset;
+    private PlaceService placeService;
+    private PlaceDetailCache placeDetailCache;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.start(bookings);
+        placeService = dataset.bean(PlaceService.class);
+        placeDetailCache = dataset.bean(PlaceDetailCache.class);
+        readOnly = new TransactionTemplate(dataset.bean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+        final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public List<ItemPlaceDTO> searchByCity(ThreadRandom state) throws Exception {
+        String city = BenchmarkDataset.CITIES[state.random.nextInt(BenchmarkDataset.CITIES.length)];
+        return inSession(() -> placeService.searchPlaces(search(city, null, null, null, null, null)));
+    }
+
+    @Benchmark
+    public List<ItemPlaceDTO> searchByCityAndDates(ThreadRandom state) throws Exception {
+        String city = BenchmarkDataset.CITIES[state.random.nextInt(BenchmarkDataset.CITIES.length)];
+        LocalDate checkIn = LocalDate.now().plusDays(state.random.nextInt(180));
+        return inSession(() -> placeService.searchPlaces(search(city, checkIn, checkIn.plusDays(3), null, null, null)));
+    }
+
+    @Benchmark
+    public List<ItemPlaceDTO> searchByRadius(ThreadRandom state) throws Exception {
+        double latitude = 4.0 + state.random.nextDouble() * 4;
+        double longitude = -76.5 + state.random.nextDouble() * 3;
+        return inSession(() -> placeService.searchPlaces(search(null, null, null, latitude, longitude, 25.0)));
+    }
+
+    @Benchmark
+    public PlaceDetailDTO placeDetailCached(ThreadRandom state) throws Exception {
+        long placeId = dataset.randomPlaceId(state.random);
+        return inSession(() -> placeService.getPlaceDetail(placeId));
+    }
+
+    @Benchmark
+    public PlaceDetailDTO placeDetailUncached(ThreadRandom state) throws Exception {
+        long placeId = dataset.randomPlaceId(state.random);
+        placeDetailCache.invalidate(placeId);
+        return inSession(() -> placeService.getPlaceDetail(placeId));
+    }
+
+    private <T> T inSession(Callable<T> call) {
+        return readOnly.execute(status -> {
+            try {
+                return call.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private SearchPlaceDTO search(String city, LocalDate checkIn, LocalDate checkOut,
+                                  Double latitude, Double longitude, Double radiusKm) {
+        return new SearchPlaceDTO(city, checkIn, checkOut, null, null, null, null, 0, 20, null, null,
+                latitude, longitude, radiusKm, null, null, null, null);
+    }
+}
@@ -0,0 +1,33 @@
+package co.edu.uniquindio.application.benchmarks;
+
+import co.edu.uniquindio.application.services.impl.ResetCodePdfRenderer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF del código de recuperación. EmailServiceImpl.generateResetCodePdf solo delega en
+ * ResetCodePdfRenderer.render, así que se mide el renderer directamente.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ResetCodePdfBenchmark {
+
+    private ResetCodePdfRenderer renderer;
+    private LocalDateTime issuedAt;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        renderer = new ResetCodePdfRenderer(new SimpleMeterRegistry());
+        renderer.init();
+        issuedAt = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public byte[] render() throws Exception {
+        return renderer.render("bench1@example.com", "123456", issuedAt, issuedAt.plusMinutes(15));
+    }
+}
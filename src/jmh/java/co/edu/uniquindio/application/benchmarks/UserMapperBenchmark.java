@@ -0,0 +1,52 @@
+package co.edu.uniquindio.application.benchmarks;
+
+import co.edu.uniquindio.application.dto.user.CreateUserDTO;
+import co.edu.uniquindio.application.dto.user.EditUserDTO;
+import co.edu.uniquindio.application.dto.user.UserDTO;
+import co.edu.uniquindio.application.mappers.UserMapper;
+import co.edu.uniquindio.application.mappers.UserMapperImpl;
+import co.edu.uniquindio.application.model.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeos de UserMapper (implementación generada por MapStruct).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UserMapperBenchmark {
+
+    private final UserMapper userMapper = new UserMapperImpl();
+
+    private CreateUserDTO createUserDTO;
+    private EditUserDTO editUserDTO;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        createUserDTO = new CreateUserDTO("Usuario Bench", "3000000000", "bench1@example.com",
+                "Password123*", null, LocalDate.of(1990, 1, 1));
+        editUserDTO = new EditUserDTO("Usuario Editado", "3000000001", null,
+                LocalDate.of(1990, 1, 1), "Descripción", null);
+        user = userMapper.toEntity(createUserDTO);
+    }
+
+    @Benchmark
+    public User toEntity() {
+        return userMapper.toEntity(createUserDTO);
+    }
+
+    @Benchmark
+    public UserDTO toUserDTO() {
+        return userMapper.toUserDTO(user);
+    }
+
+    @Benchmark
+    public User updateUserFromDto() {
+        userMapper.updateUserFromDto(editUserDTO, user);
+        return user;
+    }
+}
@@ -0,0 +1,87 @@
+package co.edu.uniquindio.application.loadtest;
+
+import co.edu.uniquindio.application.MainApplication;
+import co.edu.uniquindio.application.services.impl.AvailabilityIndex;
+import co.edu.uniquindio.application.services.impl.CityAutocompleteIndex;
+import co.edu.uniquindio.application.services.impl.PlaceGeoIndex;
+import co.edu.uniquindio.application.services.impl.PlaceRatingReconciler;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * La aplicación completa sobre una base H2 en memoria propia, sembrada con SyntheticDataGenerator.
+ * La usan los benchmarks JMH y el modo embebido del driver de carga.
+ */
+public final class EmbeddedApplication implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final SyntheticDataGenerator.Dataset dataset;
+
+    private EmbeddedApplication(ConfigurableApplicationContext context, SyntheticDataGenerator.Dataset dataset) {
+        this.context = context;
+        this.dataset = dataset;
+    }
+
+    /**
+     * @param extraArgs propiedades adicionales (--clave=valor) que no estén ya fijadas aquí
+     */
+    public static EmbeddedApplication start(int bookings, long seed, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:embedded" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--email.outbox.enabled=false",
+                "--bookings.lifecycle.enabled=false",
+                "--places.rating.backfill-on-startup=false",
+                "--images.store=local",
+                "--images.local.dir=build/embedded-uploads/images",
+                "--files.upload-dir=build/embedded-uploads",
+                // Diagnóstico de consultas solo en desarrollo: mide como en producción
+                "--queries.inspector.enabled=false"
+        ));
+        args.addAll(List.of(extraArgs));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MainApplication.class)
+                .run(args.toArray(String[]::new));
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(
+                context.getBean(JdbcTemplate.class), context.getBean(PasswordEncoder.class), "load", seed, LocalDate.now());
+        SyntheticDataGenerator.Dataset dataset = generator.generate(SyntheticDataGenerator.Spec.forBookings(bookings));
+
+        // Los índices en memoria se construyeron con la base vacía
+        context.getBean(PlaceRatingReconciler.class).reconcile();
+        context.getBean(AvailabilityIndex.class).load();
+        context.getBean(PlaceGeoIndex.class).load();
+        context.getBean(CityAutocompleteIndex.class).load();
+
+        return new EmbeddedApplication(context, dataset);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public SyntheticDataGenerator.Dataset dataset() {
+        return dataset;
+    }
+
+    public int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
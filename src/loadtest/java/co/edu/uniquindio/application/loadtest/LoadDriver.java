@@ -0,0 +1,245 @@
+package co.edu.uniquindio.application.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reproduce una mezcla ponderada de peticiones contra la API REST con N usuarios concurrentes
+ * (lazo cerrado: cada usuario envía la siguiente petición apenas recibe la respuesta) y reporta
+ * percentiles de latencia por operación con HdrHistogram.
+ *
+ * Al ser de lazo cerrado, si el servidor se frena también baja la tasa de envío; los percentiles altos
+ * deben leerse junto con el throughput logrado.
+ */
+public final class LoadDriver {
+
+    public enum Operation {
+        SEARCH, DETAIL, CREATE_BOOKING, LOGIN
+    }
+
+    public record Config(URI baseUrl, Duration warmup, Duration duration, int concurrency,
+                         Map<Operation, Integer> weights, long seed) {
+    }
+
+    public record OperationReport(Operation operation, long requests, long errors, Histogram latencyMicros) {
+    }
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+    // Los usuarios virtuales comparten sesiones: con 1k clientes, un login (BCrypt) por cliente alargaría el arranque
+    private static final int MAX_SESSIONS = 100;
+
+    private final Config config;
+    private final SyntheticDataGenerator.Dataset dataset;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Operation[] wheel;
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> requests = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    public LoadDriver(Config config, SyntheticDataGenerator.Dataset dataset) {
+        this.config = config;
+        this.dataset = dataset;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        // Rueda de operaciones proporcional a los pesos: elegir una es un índice al azar
+        List<Operation> slots = new ArrayList<>();
+        config.weights().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla de operaciones está vacía");
+        }
+        this.wheel = slots.toArray(Operation[]::new);
+
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            requests.put(operation, new LongAdder());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public List<OperationReport> run() throws Exception {
+        List<String> tokens = login(Math.min(Math.min(config.concurrency(), MAX_SESSIONS), dataset.userEmails().length));
+
+        long startNanos = System.nanoTime();
+        long measureFrom = startNanos + config.warmup().toNanos();
+        long deadline = measureFrom + config.duration().toNanos();
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < config.concurrency(); user++) {
+                String token = tokens.get(user % tokens.size());
+                SplittableRandom random = new SplittableRandom(config.seed() + user);
+                users.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = wheel[random.nextInt(wheel.length)];
+                        execute(operation, token, random, System.nanoTime() >= measureFrom);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        List<OperationReport> reports = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            reports.add(new OperationReport(operation, requests.get(operation).sum(), errors.get(operation).sum(),
+                    latencies.get(operation)));
+        }
+        return reports;
+    }
+
+    public void print(List<OperationReport> reports) {
+        double seconds = config.duration().toMillis() / 1000.0;
+        System.out.printf("%nConcurrencia %d, medición %s (calentamiento %s)%n",
+                config.concurrency(), config.duration(), config.warmup());
+        System.out.printf("%-15s %9s %8s %9s %9s %9s %9s %9s %9s%n",
+                "operación", "peticiones", "errores", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (OperationReport report : reports) {
+            if (report.requests() == 0) {
+                continue;
+            }
+            Histogram histogram = report.latencyMicros();
+            System.out.printf("%-15s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    report.operation(), report.requests(), report.errors(), report.requests() / seconds,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+    }
+
+    private void execute(Operation operation, String token, SplittableRandom random, boolean measured) {
+        HttpRequest request = switch (operation) {
+            case SEARCH -> post("/api/places/search", token, searchBody(random));
+            case DETAIL -> get("/api/places/detail/" + randomPlace(random), token);
+            case CREATE_BOOKING -> post("/api/bookings/create", token, bookingBody(random));
+            case LOGIN -> post("/api/auth/login", null, loginBody(randomEmail(random)));
+        };
+
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            status = -1;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+
+        if (!measured) {
+            return;
+        }
+        requests.get(operation).increment();
+        latencies.get(operation).recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+        // 400 en crear reserva es una respuesta de negocio (fechas ocupadas), no un fallo del servidor
+        boolean ok = status >= 200 && status < 300 || (operation == Operation.CREATE_BOOKING && status == 400);
+        if (!ok) {
+            errors.get(operation).increment();
+        }
+    }
+
+    private List<String> login(int count) throws Exception {
+        List<String> tokens = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            HttpResponse<String> response = client.send(
+                    post("/api/auth/login", null, loginBody(dataset.userEmails()[i])), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("No se pudo iniciar sesión con " + dataset.userEmails()[i]
+                        + ": HTTP " + response.statusCode());
+            }
+            JsonNode body = objectMapper.readTree(response.body());
+            tokens.add(body.path("content").path("token").asText());
+        }
+        return tokens;
+    }
+
+    private String searchBody(SplittableRandom random) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("city", SyntheticDataGenerator.CITIES[random.nextInt(SyntheticDataGenerator.CITIES.length)]);
+        if (random.nextBoolean()) {
+            LocalDate checkIn = LocalDate.now().plusDays(1 + random.nextInt(120));
+            body.put("checkIn", checkIn.toString());
+            body.put("checkOut", checkIn.plusDays(1 + random.nextInt(5)).toString());
+        }
+        body.put("page", 0);
+        body.put("size", 20);
+        return json(body);
+    }
+
+    private String bookingBody(SplittableRandom random) {
+        LocalDate checkIn = LocalDate.now().plusDays(1 + random.nextInt(365));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("checkIn", checkIn.toString());
+        body.put("checkOut", checkIn.plusDays(1 + random.nextInt(5)).toString());
+        body.put("placeId", randomPlace(random));
+        body.put("guestCount", 1);
+        return json(body);
+    }
+
+    private String loginBody(String email) {
+        return json(Map.of("email", email, "password", SyntheticDataGenerator.PASSWORD));
+    }
+
+    private long randomPlace(SplittableRandom random) {
+        return dataset.placeIds()[random.nextInt(dataset.placeIds().length)];
+    }
+
+    private String randomEmail(SplittableRandom random) {
+        return dataset.userEmails()[random.nextInt(dataset.userEmails().length)];
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(config.baseUrl().resolve(path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
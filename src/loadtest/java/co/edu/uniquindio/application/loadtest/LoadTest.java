@@ -0,0 +1,108 @@
+package co.edu.uniquindio.application.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Punto de entrada de la prueba de carga.
+ *
+ * Sin loadtest.base-url levanta la aplicación embebida sobre H2 con loadtest.bookings reservas y la carga ahí.
+ * Con loadtest.base-url apunta a una instancia ya corriendo; el dataset (generado antes con generateData y el
+ * mismo loadtest.prefix) se lee de loadtest.jdbc-url.
+ *
+ * Con loadtest.compare-threads=true corre la misma carga dos veces sobre la aplicación embebida, con el pool
+ * de hilos de plataforma de Tomcat y con hilos virtuales (spring.threads.virtual.enabled), a 1000 clientes
+ * salvo que se indique otra concurrencia.
+ *
+ * Uso: ./gradlew loadTest -Ploadtest.bookings=100000 -Ploadtest.concurrency=64 -Ploadtest.duration=PT60S
+ *      -Ploadtest.mix=search=50,detail=35,booking=10,login=5
+ *      ./gradlew loadTest -Ploadtest.compare-threads=true
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        long seed = Long.getLong("loadtest.seed", 42L);
+        String baseUrl = System.getProperty("loadtest.base-url");
+
+        if (Boolean.getBoolean("loadtest.compare-threads")) {
+            if (baseUrl != null) {
+                throw new IllegalArgumentException("loadtest.compare-threads solo funciona con la aplicación embebida");
+            }
+            compareThreads(seed);
+            return;
+        }
+
+        EmbeddedApplication embedded = null;
+        SyntheticDataGenerator.Dataset dataset;
+        if (baseUrl == null) {
+            embedded = EmbeddedApplication.start(Integer.getInteger("loadtest.bookings", 100_000), seed);
+            baseUrl = "http://localhost:" + embedded.port();
+            dataset = embedded.dataset();
+        } else {
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    System.getProperty("loadtest.jdbc-url", "jdbc:mariadb://localhost:3306/hostify"),
+                    System.getProperty("loadtest.jdbc-user", "root"),
+                    System.getProperty("loadtest.jdbc-password", ""));
+            dataset = new SyntheticDataGenerator(new JdbcTemplate(dataSource), null,
+                    System.getProperty("loadtest.prefix", "load"), seed, LocalDate.now()).load();
+        }
+
+        try {
+            LoadDriver driver = new LoadDriver(config(baseUrl, 64, seed), dataset);
+            driver.print(driver.run());
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    private static void compareThreads(long seed) throws Exception {
+        int bookings = Integer.getInteger("loadtest.bookings", 100_000);
+        for (boolean virtual : new boolean[]{false, true}) {
+            System.out.printf("%n== %s ==%n", virtual ? "Hilos virtuales" : "Pool de hilos de plataforma de Tomcat");
+            try (EmbeddedApplication embedded = EmbeddedApplication.start(bookings, seed,
+                    "--spring.threads.virtual.enabled=" + virtual)) {
+                LoadDriver driver = new LoadDriver(
+                        config("http://localhost:" + embedded.port(), 1000, seed), embedded.dataset());
+                driver.print(driver.run());
+            }
+        }
+    }
+
+    private static LoadDriver.Config config(String baseUrl, int defaultConcurrency, long seed) {
+        return new LoadDriver.Config(
+                URI.create(baseUrl),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT60S")),
+                Integer.getInteger("loadtest.concurrency", defaultConcurrency),
+                parseMix(System.getProperty("loadtest.mix", "search=50,detail=35,booking=10,login=5")),
+                seed);
+    }
+
+    static Map<LoadDriver.Operation, Integer> parseMix(String mix) {
+        Map<LoadDriver.Operation, Integer> weights = new EnumMap<>(LoadDriver.Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            LoadDriver.Operation operation = switch (parts[0].trim().toLowerCase(Locale.ROOT)) {
+                case "search" -> LoadDriver.Operation.SEARCH;
+                case "detail" -> LoadDriver.Operation.DETAIL;
+                case "booking" -> LoadDriver.Operation.CREATE_BOOKING;
+                case "login" -> LoadDriver.Operation.LOGIN;
+                default -> throw new IllegalArgumentException("Operación desconocida en loadtest.mix: " + parts[0]);
+            };
+            weights.put(operation, Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
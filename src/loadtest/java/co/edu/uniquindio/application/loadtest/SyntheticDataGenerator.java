@@ -0,0 +1,231 @@
+package co.edu.uniquindio.application.loadtest;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Genera un dataset sintético y reproducible (misma semilla y fecha de referencia = mismos datos):
+ * usuarios, alojamientos con imágenes y servicios, reservas en todos los estados, comentarios y favoritos.
+ *
+ * Todo se inserta por JDBC en lotes, directamente sobre el esquema que crea Hibernate. La aplicación
+ * debe reiniciarse después de generar contra una base en uso: los índices en memoria (disponibilidad,
+ * geográfico, ciudades) y los agregados de calificación se construyen al arrancar.
+ *
+ * Uso: ./gradlew generateData -Ploadtest.jdbc-url=jdbc:mariadb://localhost:3306/hostify
+ *      -Ploadtest.jdbc-user=root -Ploadtest.jdbc-password=... -Ploadtest.bookings=100000
+ */
+public final class SyntheticDataGenerator {
+
+    public static final String PASSWORD = "Password123*";
+
+    public static final String[] CITIES = {
+            "Armenia", "Bogotá", "Medellín", "Cali", "Pereira", "Manizales", "Cartagena", "Salento"
+    };
+
+    private static final String[] SERVICES = {"WIFI", "PARKING", "POOL", "BREAKFAST", "KITCHEN", "TV"};
+
+    private static final int BATCH_SIZE = 5_000;
+
+    /**
+     * Tamaño del dataset. Usuarios, alojamientos y favoritos se escalan a partir del número de reservas.
+     */
+    public record Spec(int users, int places, int bookings, int favoritesPerUser) {
+        public static Spec forBookings(int bookings) {
+            return new Spec(Math.max(50, bookings / 20), Math.max(20, bookings / 10), bookings, 3);
+        }
+    }
+
+    /**
+     * Lo que el driver de carga necesita para armar peticiones válidas.
+     */
+    public record Dataset(long[] placeIds, String[] userEmails) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final PasswordEncoder passwordEncoder;
+    private final String prefix;
+    private final LocalDate referenceDate;
+    private final SplittableRandom random;
+    private final String userTable;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbc, PasswordEncoder passwordEncoder, String prefix,
+                                  long seed, LocalDate referenceDate) {
+        this.jdbc = jdbc;
+        this.passwordEncoder = passwordEncoder;
+        this.prefix = prefix;
+        this.referenceDate = referenceDate;
+        this.random = new SplittableRandom(seed);
+        // La tabla "user" va entre comillas: comillas dobles en H2, backticks en MariaDB
+        String quote = jdbc.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getIdentifierQuoteString());
+        this.userTable = quote + "user" + quote;
+    }
+
+    public Dataset generate(Spec spec) {
+        long start = System.currentTimeMillis();
+        String[] userEmails = insertUsers(spec.users());
+        long[] placeIds = insertPlaces(spec.places(), spec.users());
+        insertBookingsAndComments(placeIds, spec.users(), spec.bookings());
+        insertFavorites(placeIds, spec.users(), spec.favoritesPerUser());
+        System.out.printf("Dataset '%s' generado: %d usuarios, %d alojamientos, %d reservas (%d ms)%n",
+                prefix, userEmails.length, placeIds.length, spec.bookings(), System.currentTimeMillis() - start);
+        return new Dataset(placeIds, userEmails);
+    }
+
+    /**
+     * Lee un dataset generado antes con el mismo prefijo, para correr carga sin regenerar.
+     */
+    public Dataset load() {
+        long[] placeIds = jdbc.queryForList(
+                        "SELECT p.id FROM place p JOIN " + userTable + " u ON u.id = p.host_id WHERE u.id LIKE ? ORDER BY p.id",
+                        Long.class, prefix + "-user-%")
+                .stream().mapToLong(Long::longValue).toArray();
+        String[] userEmails = jdbc.queryForList(
+                        "SELECT email FROM " + userTable + " WHERE id LIKE ? ORDER BY email", String.class, prefix + "-user-%")
+                .toArray(String[]::new);
+        return new Dataset(placeIds, userEmails);
+    }
+
+    private String userId(int index) {
+        return prefix + "-user-" + index;
+    }
+
+    private String[] insertUsers(int count) {
+        String password = passwordEncoder.encode(PASSWORD);
+        Timestamp createdAt = Timestamp.valueOf(referenceDate.minusYears(1).atStartOfDay());
+        String[] emails = new String[count];
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            emails[i] = prefix + i + "@example.com";
+            rows.add(new Object[]{userId(i), "Usuario " + i, "3000000000", emails[i], password,
+                    java.sql.Date.valueOf(LocalDate.of(1970 + random.nextInt(35), 1 + random.nextInt(12), 1)),
+                    createdAt, i % 5 == 0 ? "HOST" : "GUEST", "ACTIVE"});
+            flushIfFull("INSERT INTO " + userTable + " (id, name, phone, email, password, date_birth, created_at, role, status)"
+                    + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows, i == count - 1);
+        }
+        return emails;
+    }
+
+    private long[] insertPlaces(int count, int users) {
+        long lastIdBefore = maxId("place");
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{"Alojamiento " + i, "Descripción del alojamiento " + i,
+                    50_000f + random.nextInt(450_000), "ACTIVE", CITIES[i % CITIES.length], "Calle " + i,
+                    4.0 + random.nextDouble() * 4, -76.5 + random.nextDouble() * 3, 1 + random.nextInt(8),
+                    userId((i * 5) % users)});
+            flushIfFull("""
+                    INSERT INTO place (title, description, price, status, city, address, latitude, longitude,
+                                       max_guests, host_id, rating_sum, rating_count)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0)
+                    """, rows, i == count - 1);
+        }
+
+        long[] placeIds = jdbc.queryForList("SELECT id FROM place WHERE id > ? ORDER BY id", Long.class, lastIdBefore)
+                .stream().mapToLong(Long::longValue).toArray();
+
+        List<Object[]> images = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> services = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < placeIds.length; i++) {
+            boolean last = i == placeIds.length - 1;
+            for (int image = 0; image < 3; image++) {
+                images.add(new Object[]{placeIds[i], "https://example.com/places/" + placeIds[i] + "/" + image + ".jpg"});
+            }
+            flushIfFull("INSERT INTO place_images (place_id, images) VALUES (?, ?)", images, last);
+
+            int first = random.nextInt(SERVICES.length);
+            int serviceCount = 1 + random.nextInt(3);
+            for (int s = 0; s < serviceCount; s++) {
+                services.add(new Object[]{placeIds[i], SERVICES[(first + s) % SERVICES.length]});
+            }
+            flushIfFull("INSERT INTO place_services (place_id, service) VALUES (?, ?)", services, last);
+        }
+        return placeIds;
+    }
+
+    // Reservas consecutivas por alojamiento (sin cruces) alrededor de la fecha de referencia
+    private void insertBookingsAndComments(long[] placeIds, int users, int count) {
+        long lastIdBefore = maxId("booking");
+        LocalDateTime base = referenceDate.minusDays(200).atStartOfDay();
+        int[] nextSlot = new int[placeIds.length];
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            int place = random.nextInt(placeIds.length);
+            LocalDateTime checkIn = base.plusDays(4L * nextSlot[place]++);
+            boolean past = checkIn.toLocalDate().isBefore(referenceDate);
+            // Ordinales de BookingStatus: 0 PENDING, 1 CONFIRMED, 2 CANCELLED, 3 COMPLETED, 4 REJECTED
+            int roll = random.nextInt(10);
+            int status = past
+                    ? (roll < 7 ? 3 : roll < 9 ? 2 : 4)
+                    : (roll < 5 ? 1 : roll < 8 ? 0 : 2);
+            rows.add(new Object[]{userId(random.nextInt(users)), placeIds[place], status,
+                    Timestamp.valueOf(checkIn.minusDays(1 + random.nextInt(60))), Timestamp.valueOf(checkIn),
+                    Timestamp.valueOf(checkIn.plusDays(1 + random.nextInt(3))), 1 + random.nextInt(4)});
+            flushIfFull("""
+                    INSERT INTO booking (guest_id, place_id, status, created_at, check_in, check_out, guest_count)
+                    VALUES (?, ?, ?, ?, ?, ?, ?)
+                    """, rows, i == count - 1);
+        }
+
+        // Un comentario por cada reserva completada, para que el detalle tenga reseñas que paginar
+        jdbc.update("""
+                INSERT INTO comment (author_id, place_id, booking_id, rating, text, created_at)
+                SELECT b.guest_id, b.place_id, b.id, MOD(b.id, 5) + 1, 'Muy buena estadía', b.check_out
+                FROM booking b WHERE b.id > ? AND b.status = 3
+                """, lastIdBefore);
+    }
+
+    private void insertFavorites(long[] placeIds, int users, int perUser) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        int favorites = Math.min(perUser, placeIds.length);
+        for (int i = 0; i < users; i++) {
+            Set<Long> chosen = new HashSet<>();
+            while (chosen.size() < favorites) {
+                chosen.add(placeIds[random.nextInt(placeIds.length)]);
+            }
+            for (Long placeId : chosen) {
+                rows.add(new Object[]{userId(i), placeId});
+            }
+            flushIfFull("INSERT INTO favorites (user_id, place_id) VALUES (?, ?)", rows, i == users - 1);
+        }
+    }
+
+    private long maxId(String table) {
+        Long max = jdbc.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    private void flushIfFull(String sql, List<Object[]> rows, boolean last) {
+        if (rows.size() >= BATCH_SIZE || (last && !rows.isEmpty())) {
+            jdbc.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    public static void main(String[] args) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("loadtest.jdbc-url", "jdbc:mariadb://localhost:3306/hostify"),
+                System.getProperty("loadtest.jdbc-user", "root"),
+                System.getProperty("loadtest.jdbc-password", ""));
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(
+                new JdbcTemplate(dataSource),
+                new BCryptPasswordEncoder(),
+                System.getProperty("loadtest.prefix", "load"),
+                Long.getLong("loadtest.seed", 42L),
+                LocalDate.parse(System.getProperty("loadtest.reference-date", LocalDate.now().toString())));
+        generator.generate(Spec.forBookings(Integer.getInteger("loadtest.bookings", 100_000)));
+        System.out.println("Reinicie la aplicación para que reconstruya sus índices en memoria");
+    }
+}
@@ -0,0 +1,19 @@
+package co.edu.uniquindio.application.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Ajustes globales (de toda la JVM) de ImageIO para las imágenes subidas.
+ * Por defecto ImageIO respalda los streams de lectura con archivos temporales; las imágenes ya llegan
+ * acotadas por images.variants.max-pixels, así que se decodifican en memoria.
+ */
+@Configuration
+public class ImageIOConfig {
+
+    public ImageIOConfig(@Value("${images.imageio.use-cache:false}") boolean useCache) {
+        ImageIO.setUseCache(useCache);
+    }
+}
@@ -0,0 +1,77 @@
+package co.edu.uniquindio.application.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Con hilos virtuales (spring.threads.virtual.enabled=true), un driver JDBC que hace E/S de red dentro de
+ * bloques synchronized fija el hilo virtual a su carrier durante toda la consulta (Java 21). Si el pool tiene
+ * tantas conexiones como carriers, las consultas pueden ocupar todos los carriers y el resto de peticiones
+ * queda sin dónde ejecutarse hasta que terminen.
+ *
+ * Antes de que el pool arranque, si el driver es de los que bloquean con synchronized (MariaDB Connector/J 2.x,
+ * MySQL Connector/J 8.x, H2 en modo servidor), se limita el pool a carriers - 1 para dejar siempre uno libre.
+ * MariaDB Connector/J 3.x y HikariCP 5.1+ usan ReentrantLock y no necesitan el límite.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class JdbcPinningGuard implements BeanPostProcessor {
+
+    private final boolean capPool;
+
+    public JdbcPinningGuard(@Value("${threads.virtual.pinning.cap-pool:true}") boolean capPool) {
+        this.capPool = capPool;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (bean instanceof HikariDataSource hikari && hikari.getJdbcUrl() != null && pinsCarrier(hikari.getJdbcUrl())) {
+            int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                    Runtime.getRuntime().availableProcessors());
+            int limit = Math.max(1, carriers - 1);
+            if (hikari.getMaximumPoolSize() > limit) {
+                if (capPool) {
+                    log.warn("El driver JDBC fija los hilos virtuales a su carrier: pool limitado de {} a {} conexiones ({} carriers)",
+                            hikari.getMaximumPoolSize(), limit, carriers);
+                    hikari.setMaximumPoolSize(limit);
+                    if (hikari.getMinimumIdle() > limit) {
+                        hikari.setMinimumIdle(limit);
+                    }
+                } else {
+                    log.warn("El driver JDBC fija los hilos virtuales a su carrier y el pool ({}) no deja carriers libres ({})",
+                            hikari.getMaximumPoolSize(), carriers);
+                }
+            }
+        }
+        return bean;
+    }
+
+    private static boolean pinsCarrier(String jdbcUrl) {
+        // H2 en memoria o en archivo no hace E/S de red: el bloqueo dura microsegundos
+        if (jdbcUrl.startsWith("jdbc:h2:tcp:") || jdbcUrl.startsWith("jdbc:h2:ssl:")) {
+            return true;
+        }
+        boolean mariadb = jdbcUrl.startsWith("jdbc:mariadb:");
+        boolean mysql = jdbcUrl.startsWith("jdbc:mysql:");
+        if (!mariadb && !mysql) {
+            return false;
+        }
+        try {
+            Driver driver = DriverManager.getDriver(jdbcUrl);
+            return mariadb ? driver.getMajorVersion() < 3 : driver.getMajorVersion() < 9;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package co.edu.uniquindio.application.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Timers para cada llamada a un servicio (app.service) y a un repositorio (app.repository.query),
+ * etiquetados por clase y método. El timer de repositorio también sirve de contador de consultas por nombre.
+ * Las peticiones HTTP ya las mide Spring MVC (http.server.requests, por endpoint).
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    // Nombre de la interfaz de repositorio por clase de proxy; resolverlo en cada llamada es innecesario
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    // Timer ya registrado por combinación de etiquetas: evita construir el builder y buscar en el registro en cada llamada
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(* co.edu.uniquindio.application.services.*Service.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        return record(joinPoint, "app.service", "service", service);
+    }
+
+    // Incluye los métodos heredados de JpaRepository (save, findById, ...), atribuidos al repositorio concreto
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..)) && this(repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint, Object repository) throws Throwable {
+        String name = repositoryNames.computeIfAbsent(repository.getClass(), type -> {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(repository);
+            return interfaces.length > 0 ? interfaces[0].getSimpleName() : type.getSimpleName();
+        });
+        return record(joinPoint, "app.repository.query", "repository", name);
+    }
+
+    private Object record(ProceedingJoinPoint joinPoint, String metric, String ownerTag, String owner) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            TimerKey key = new TimerKey(metric, ownerTag, owner, joinPoint.getSignature().getName(), exception);
+            sample.stop(timers.computeIfAbsent(key, this::register));
+        }
+    }
+
+    private Timer register(TimerKey key) {
+        return Timer.builder(key.metric())
+                .tag(key.ownerTag(), key.owner())
+                .tag("method", key.method())
+                .tag("exception", key.exception())
+                .register(meterRegistry);
+    }
+
+    private record TimerKey(String metric, String ownerTag, String owner, String method, String exception) {
+    }
+}
@@ -0,0 +1,35 @@
+package co.edu.uniquindio.application.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Saturación del pool de Hikari (conexiones activas / máximo). Actuator ya publica active, idle, pending y
+     * el tiempo de espera (hikaricp.connections.acquire); este gauge resume en un solo valor qué tan cerca
+     * está el pool de hacer esperar a las peticiones.
+     */
+    @Bean
+    public MeterBinder hikariSaturationMetrics(DataSource dataSource) {
+        return registry -> {
+            if (!(dataSource instanceof HikariDataSource hikari)) {
+                return;
+            }
+            Gauge.builder("hikaricp.connections.saturation", hikari, pool -> {
+                        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+                        return mxBean == null ? 0 : (double) mxBean.getActiveConnections() / pool.getMaximumPoolSize();
+                    })
+                    .tag("pool", String.valueOf(hikari.getPoolName()))
+                    .description("Conexiones activas sobre el máximo del pool")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package co.edu.uniquindio.application.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Escucha el evento JFR jdk.VirtualThreadPinned (un hilo virtual que se bloqueó sin poder soltar su carrier,
+ * p. ej. dentro de un synchronized) y lo publica como jvm.threads.virtual.pinned. Cada lugar distinto se
+ * registra una vez en WARN con el frame que bloqueó y el código de la aplicación que lo llamó; las repeticiones
+ * van a DEBUG para no inundar el log bajo carga.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "threads.virtual.pinning.monitor", havingValue = "true", matchIfMissing = true)
+public class PinnedThreadMonitor {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "co.edu.uniquindio.application.";
+
+    private final Counter pinned;
+    private final Duration threshold;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public PinnedThreadMonitor(MeterRegistry meterRegistry,
+                               @Value("${threads.virtual.pinning.threshold:PT0.02S}") Duration threshold) {
+        this.pinned = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Bloqueos de hilos virtuales que no soltaron su carrier")
+                .register(meterRegistry);
+        this.threshold = threshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            stream = new RecordingStream();
+            stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(EVENT, this::onPinned);
+            stream.startAsync();
+        } catch (RuntimeException e) {
+            // JVM sin JFR: se sigue sin el monitor
+            log.warn("No se pudo iniciar el monitor de pinning de hilos virtuales: {}", e.getMessage());
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        String blockedAt = frames.isEmpty() ? "desconocido" : describe(frames.get(0));
+        String calledFrom = frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APP_PACKAGE))
+                .findFirst()
+                .map(PinnedThreadMonitor::describe)
+                .orElse("fuera de la aplicación");
+
+        if (reported.add(blockedAt + calledFrom)) {
+            log.warn("Hilo virtual fijado a su carrier durante {} ms en {} (llamado desde {})",
+                    event.getDuration().toMillis(), blockedAt, calledFrom);
+        } else {
+            log.debug("Hilo virtual fijado a su carrier durante {} ms en {}", event.getDuration().toMillis(), blockedAt);
+        }
+    }
+
+    private static String describe(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
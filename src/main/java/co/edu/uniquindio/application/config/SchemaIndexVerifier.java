@@ -0,0 +1,123 @@
+package co.edu.uniquindio.application.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Verifica al arrancar que los índices declarados en @Table(indexes = ...) existan en la base.
+ * ddl-auto=update los crea en bases existentes, pero si el esquema se administra a mano (validate/none)
+ * un índice faltante convierte las consultas calientes en table scans sin ningún error visible:
+ * mejor fallar al arrancar que degradarse en silencio. Corre en afterSingletonsInstantiated, antes de que el
+ * servidor web arranque y de que empiecen las tareas programadas: ninguna petición llega a un esquema sin índices.
+ *
+ * Se compara por columnas (en orden) y no por nombre, así un índice equivalente creado a mano también vale.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchemaIndexVerifier implements SmartInitializingSingleton {
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${schema.index-check.enabled:true}")
+    private boolean enabled;
+
+    @Value("${schema.index-check.fail-on-missing:true}")
+    private boolean failOnMissing;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+
+        List<String> missing;
+        try {
+            missing = findMissingIndexes();
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudieron leer los índices de la base de datos", e);
+        }
+        if (missing.isEmpty()) {
+            log.info("Índices del esquema verificados");
+            return;
+        }
+
+        String message = "Faltan índices en la base de datos: " + String.join(", ", missing);
+        if (failOnMissing) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    public List<String> findMissingIndexes() throws SQLException {
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+                Table table = entity.getJavaType().getAnnotation(Table.class);
+                if (table == null || table.indexes().length == 0) {
+                    continue;
+                }
+
+                String tableName = table.name().isEmpty() ? toSnakeCase(entity.getJavaType().getSimpleName()) : table.name();
+                List<List<String>> existing = readIndexColumns(connection, metaData, tableName);
+                for (Index index : table.indexes()) {
+                    List<String> columns = Arrays.stream(index.columnList().split(","))
+                            .map(column -> column.trim().toLowerCase())
+                            .toList();
+                    if (!existing.contains(columns)) {
+                        missing.add(index.name() + " " + tableName + columns);
+                    }
+                }
+            }
+        }
+        return missing;
+    }
+
+    // Columnas de cada índice de la tabla, en orden y en minúsculas
+    private List<List<String>> readIndexColumns(Connection connection, DatabaseMetaData metaData, String tableName)
+            throws SQLException {
+        Map<String, TreeMap<Short, String>> indexes = new HashMap<>();
+        // MariaDB guarda los nombres en minúsculas y H2 en mayúsculas
+        for (String candidate : List.of(tableName, tableName.toUpperCase())) {
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, candidate, false, true)) {
+                while (rs.next()) {
+                    String indexName = rs.getString("INDEX_NAME");
+                    String columnName = rs.getString("COLUMN_NAME");
+                    if (indexName != null && columnName != null) {
+                        indexes.computeIfAbsent(candidate + "." + indexName, name -> new TreeMap<>())
+                                .put(rs.getShort("ORDINAL_POSITION"), columnName.toLowerCase());
+                    }
+                }
+            }
+            if (!indexes.isEmpty()) {
+                break;
+            }
+        }
+        return indexes.values().stream().map(columns -> List.copyOf(columns.values())).toList();
+    }
+
+    private String toSnakeCase(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+}
@@ -1,8 +1,10 @@
 package co.edu.uniquindio.application.config;
 
 import co.edu.uniquindio.application.config.jwt.JwtAuthenticationFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -25,9 +27,10 @@ public class SecurityConfig {
         this.customAuthEntryPoint = customAuthEntryPoint;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
 }
+    // Encoder único de la aplicación; el costo de BCrypt se ajusta con security.bcrypt.strength
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -40,7 +43,10 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()  // Permitir acceso libre a autenticación
+                        .requestMatchers(HttpMethod.GET, "/api/users/*/legal-document/**").authenticated()  // Documentos legales privados
                         .requestMatchers("/api/users/**").permitAll()  // Permitir acceso a usuarios
+                        .requestMatchers("/uploads/**").permitAll()  // Archivos públicos (fotos de perfil)
+                        .requestMatchers("/actuator/health", "/actuator/prometheus", "/actuator/loggers/**", "/actuator/authtrace").permitAll()  // Solo en el puerto interno de administración (management.server.*)
                         .anyRequest().authenticated()  // El resto requiere autenticación
                 )
                 .sessionManagement(session -> session
@@ -0,0 +1,93 @@
+package co.edu.uniquindio.application.config.jwt;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Traza de autenticación por petición, en el logger "auth.trace".
+ * Se activa en caliente desde el puerto interno de administración: el nivel del logger con
+ * /actuator/loggers/auth.trace y la fracción de peticiones registradas (auth.trace.sample-rate
+ * al arrancar) con este endpoint, /actuator/authtrace. Nunca se escribe el token:
+ * solo un fragmento de su hash SHA-256 y el email enmascarado.
+ */
+@Slf4j(topic = "auth.trace")
+@Component
+@Endpoint(id = "authtrace")
+public class AuthTracer {
+
+    public static final String CORRELATION_ID = "correlationId";
+    public static final String CORRELATION_HEADER = "X-Request-Id";
+
+    private static final int FINGERPRINT_LENGTH = 12;
+
+    private final JwtUtil jwtUtil;
+
+    private volatile double sampleRate;
+
+    public AuthTracer(JwtUtil jwtUtil, @Value("${auth.trace.sample-rate:1.0}") double sampleRate) {
+        this.jwtUtil = jwtUtil;
+        this.sampleRate = sampleRate;
+    }
+
+    @ReadOperation
+    public Map<String, Object> settings() {
+        return Map.of("enabled", log.isDebugEnabled(), "sampleRate", sampleRate);
+    }
+
+    @WriteOperation
+    public Map<String, Object> updateSampleRate(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new InvalidEndpointRequestException("sampleRate debe estar entre 0 y 1", "sampleRate fuera de rango");
+        }
+        this.sampleRate = sampleRate;
+        log.info("Muestreo de la traza de autenticación cambiado a {}", sampleRate);
+        return settings();
+    }
+
+    /**
+     * Decide una sola vez por petición si se traza. Si el logger no está en DEBUG no
+     * cuesta más que la comprobación del nivel.
+     */
+    public boolean sample() {
+        return log.isDebugEnabled()
+                && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    public void authenticated(HttpServletRequest request, String token, String email, String userId) {
+        log.debug("auth=ok method={} uri={} token={} email={} userId={}",
+                request.getMethod(), request.getRequestURI(), redact(token), mask(email), userId);
+    }
+
+    public void rejected(HttpServletRequest request, String token) {
+        log.debug("auth=rejected method={} uri={} token={}",
+                request.getMethod(), request.getRequestURI(), redact(token));
+    }
+
+    public void anonymous(HttpServletRequest request) {
+        log.debug("auth=none method={} uri={}", request.getMethod(), request.getRequestURI());
+    }
+
+    private String redact(String token) {
+        return jwtUtil.fingerprint(token).substring(0, FINGERPRINT_LENGTH);
+    }
+
+    private String mask(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.indexOf('@');
+        if (at <= 2) {
+            return "***" + (at >= 0 ? email.substring(at) : "");
+        }
+        return email.substring(0, 2) + "***" + email.substring(at);
+    }
+}
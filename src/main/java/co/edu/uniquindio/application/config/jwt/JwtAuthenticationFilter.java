@@ -1,9 +1,11 @@
 package co.edu.uniquindio.application.config.jwt;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -12,14 +14,21 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.UUID;
+import java.util.regex.Pattern;
 
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    // Solo ids simples: el valor va al MDC (todas las líneas de log) y a la respuesta
+    private static final Pattern CORRELATION_ID_PATTERN = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
     private final JwtUtil jwtUtil;
+    private final AuthTracer authTracer;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, AuthTracer authTracer) {
         this.jwtUtil = jwtUtil;
+        this.authTracer = authTracer;
     }
 
     @Override
@@ -27,25 +36,47 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
 
-        String authHeader = request.getHeader("Authorization");
-        System.out.println("Auth Header: " + authHeader); // Debugging line
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            System.out.println("Extracted Token: " + token); // Debugging line
-            // Solo valida el token, no el rol
-            if (jwtUtil.validateToken(token)) {
-                String email = jwtUtil.getEmailFromToken(token);
-                String userId = jwtUtil.getUserIdFromToken(token);
-
-                System.out.println("Email from Token: " + email); // Debugging line
-                System.out.println("UserId from Token: " + userId); // Debugging line
-
-                // No se agregan authorities ni roles
-                UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(email, null, Collections.emptyList());
-                SecurityContextHolder.getContext().setAuthentication(auth);
+        // Id de correlación para todos los logs de la petición (se reutiliza el del cliente si es válido)
+        String correlationId = resolveCorrelationId(request);
+        MDC.put(AuthTracer.CORRELATION_ID, correlationId);
+        response.setHeader(AuthTracer.CORRELATION_HEADER, correlationId);
+
+        try {
+            boolean trace = authTracer.sample();
+            String authHeader = request.getHeader("Authorization");
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                String token = authHeader.substring(7);
+                // Solo valida el token, no el rol. Se verifica una sola vez y se reutilizan los claims
+                Claims claims = jwtUtil.parseClaims(token).orElse(null);
+                if (claims != null) {
+                    String email = claims.getSubject();
+                    String userId = jwtUtil.getUserId(claims);
+
+                    // No se agregan authorities ni roles
+                    UsernamePasswordAuthenticationToken auth =
+                            new UsernamePasswordAuthenticationToken(email, null, Collections.emptyList());
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+
+                    if (trace) {
+                        authTracer.authenticated(request, token, email, userId);
+                    }
+                } else if (trace) {
+                    authTracer.rejected(request, token);
+                }
+            } else if (trace) {
+                authTracer.anonymous(request);
             }
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(AuthTracer.CORRELATION_ID);
+        }
+    }
+
+    private String resolveCorrelationId(HttpServletRequest request) {
+        String header = request.getHeader(AuthTracer.CORRELATION_HEADER);
+        if (header != null && CORRELATION_ID_PATTERN.matcher(header).matches()) {
+            return header;
         }
-        filterChain.doFilter(request, response);
+        return UUID.randomUUID().toString();
     }
 }
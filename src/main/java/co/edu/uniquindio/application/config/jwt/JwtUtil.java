@@ -1,15 +1,24 @@
 package co.edu.uniquindio.application.config.jwt;
-import org.antlr.v4.runtime.Token;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import javax.crypto.SecretKey;
 
@@ -21,8 +30,42 @@ public class JwtUtil {
     @Value("${jwt.expiration-ms}")
     private long expirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    // La clave y el parser se construyen una sola vez; ambos son inmutables y seguros entre hilos
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Claims ya verificados, por hash del token. Cada entrada vence en el "exp" del propio token
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, claims, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String generateToken(String id, String email) {
@@ -34,46 +77,68 @@ public class JwtUtil {
                 .claim("userId", id) // el id como claim
                 .issuedAt(now)
                 .expiration(exp)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifica el token una sola vez y devuelve sus claims. Si el token ya fue verificado
+     * y no ha expirado, se responde desde la caché sin volver a validar la firma.
+     */
+    public Optional<Claims> parseClaims(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        String key = fingerprint(token);
+        Claims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(key, claims);
+            }
+            return Optional.of(claims);
         } catch (JwtException | IllegalArgumentException ex) {
-            return false;
+            return Optional.empty();
         }
     }
 
+    public boolean validateToken(String token) {
+        return parseClaims(token).isPresent();
+    }
+
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        return parseClaims(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new JwtException("Token inválido"));
     }
 
     public String getUserIdFromToken(String token) { // ✅ CAMBIO: Long → String
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = parseClaims(token)
+                .orElseThrow(() -> new JwtException("Token inválido"));
+        return getUserId(claims);
+    }
+
+    public String getUserId(Claims claims) {
         Object o = claims.get("userId");
         if (o == null) return null;
         // ✅ CAMBIO: Devolver como String directamente
         return o.toString();
-        
-        // ❌ CÓDIGO ANTERIOR:
-        // if (o instanceof Integer) return ((Integer) o).longValue();
-        // if (o instanceof Long) return (Long) o;
-        // return Long.parseLong(o.toString());
+    }
+
+    /**
+     * Hash SHA-256 (hex) del token. Sirve como llave de caché sin guardar el token en claro.
+     */
+    public String fingerprint(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
     }
 }
@@ -0,0 +1,126 @@
+package co.edu.uniquindio.application.config.query;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Abre un QueryLog por petición, devuelve el número de sentencias en la cabecera X-Query-Count y
+ * controla el presupuesto de sentencias: queries.inspector.request-budget para todas las peticiones
+ * (0 = sin límite) o la cabecera X-Query-Budget para una sola, pensada para las pruebas: solo se acepta con
+ * queries.inspector.budget-header.enabled=true (app-test.properties), así un cliente no puede hacer fallar peticiones.
+ * Con presupuesto por cabecera o queries.inspector.fail-on-violation=true, exceder el presupuesto o
+ * detectar un N+1 lanza IllegalStateException, de modo que la prueba que hizo la petición falla.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "queries.inspector.enabled", havingValue = "true")
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_BUDGET_HEADER = "X-Query-Budget";
+
+    private final int requestBudget;
+    private final boolean failOnViolation;
+    private final boolean budgetHeaderEnabled;
+
+    public QueryCountFilter(@Value("${queries.inspector.request-budget:0}") int requestBudget,
+                            @Value("${queries.inspector.fail-on-violation:false}") boolean failOnViolation,
+                            @Value("${queries.inspector.budget-header.enabled:false}") boolean budgetHeaderEnabled) {
+        this.requestBudget = requestBudget;
+        this.failOnViolation = failOnViolation;
+        this.budgetHeaderEnabled = budgetHeaderEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        QueryLog queryLog = QueryLog.start(request.getMethod() + " " + request.getRequestURI());
+        QueryCountResponse countingResponse = new QueryCountResponse(response, queryLog);
+        try {
+            filterChain.doFilter(request, countingResponse);
+            countingResponse.writeCount();
+        } finally {
+            QueryLog.clear();
+        }
+
+        Integer explicitBudget = budgetHeaderEnabled ? parseBudget(request.getHeader(QUERY_BUDGET_HEADER)) : null;
+        int budget = explicitBudget != null ? explicitBudget : requestBudget;
+        boolean overBudget = (explicitBudget != null || budget > 0) && queryLog.statements() > budget;
+
+        if (overBudget) {
+            log.warn("{} ejecutó {} sentencias (presupuesto {})", queryLog.request(), queryLog.statements(), budget);
+        } else {
+            log.debug("{} ejecutó {} sentencias", queryLog.request(), queryLog.statements());
+        }
+
+        if ((explicitBudget != null || failOnViolation) && (overBudget || !queryLog.nPlusOne().isEmpty())) {
+            throw new IllegalStateException(queryLog.request() + " excedió el presupuesto de sentencias: "
+                    + queryLog.statements() + " ejecutadas (presupuesto " + budget + "), "
+                    + queryLog.nPlusOne().size() + " consultas N+1 " + queryLog.nPlusOne());
+        }
+    }
+
+    private static Integer parseBudget(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Escribe el conteo justo antes de que empiece el cuerpo: después ya no se pueden agregar cabeceras.
+     * Las sentencias posteriores (p. ej. cargas lazy al serializar) quedan en el log pero no en la cabecera.
+     */
+    private static final class QueryCountResponse extends HttpServletResponseWrapper {
+
+        private final QueryLog queryLog;
+
+        QueryCountResponse(HttpServletResponse response, QueryLog queryLog) {
+            super(response);
+            this.queryLog = queryLog;
+        }
+
+        void writeCount() {
+            if (!isCommitted()) {
+                setHeader(QUERY_COUNT_HEADER, String.valueOf(queryLog.statements()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeCount();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeCount();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeCount();
+            super.flushBuffer();
+        }
+    }
+}
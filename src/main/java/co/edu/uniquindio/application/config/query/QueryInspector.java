@@ -0,0 +1,65 @@
+package co.edu.uniquindio.application.config.query;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * StatementInspector de Hibernate: cuenta cada sentencia en el QueryLog de la petición y avisa cuando el mismo
+ * SELECT se repite n-plus-one-threshold veces (típico N+1: una consulta por fila de un resultado anterior).
+ * El aviso incluye el método de repositorio activo y la primera línea de código de la aplicación que la originó.
+ * Solo para desarrollo y pruebas (queries.inspector.enabled).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "queries.inspector.enabled", havingValue = "true")
+public class QueryInspector implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final String APP_PACKAGE = "co.edu.uniquindio.application.";
+    // Aspectos y filtros de config no son el origen de una consulta
+    private static final String CONFIG_PACKAGE = APP_PACKAGE + "config.";
+
+    private final int nPlusOneThreshold;
+
+    public QueryInspector(@Value("${queries.inspector.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        QueryLog queryLog = QueryLog.current();
+        if (queryLog != null && queryLog.record(sql, nPlusOneThreshold)) {
+            log.warn("Posible N+1 en {}: la misma consulta se ejecutó {} veces (repositorio={}, origen={}): {}",
+                    queryLog.request(), nPlusOneThreshold,
+                    queryLog.repositoryMethod() != null ? queryLog.repositoryMethod() : "carga lazy",
+                    origin(), sql);
+        }
+        return sql;
+    }
+
+    // Solo se recorre la pila cuando se detecta un N+1, no en cada sentencia
+    private static String origin() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE)
+                        && !frame.getClassName().startsWith(CONFIG_PACKAGE)
+                        && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("desconocido"));
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,91 @@
+package co.edu.uniquindio.application.config.query;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sentencias SQL ejecutadas durante la petición HTTP en curso (una por hilo).
+ * Fuera de una petición (tareas programadas, arranque) no hay QueryLog y no se cuenta nada.
+ */
+final class QueryLog {
+
+    private static final ThreadLocal<QueryLog> CURRENT = new ThreadLocal<>();
+
+    private final String request;
+    private int statements;
+    // Hibernate entrega el SQL con los parámetros como '?': la misma consulta con otros valores tiene el mismo texto
+    private final Map<String, Integer> selects = new LinkedHashMap<>();
+    private final List<String> nPlusOne = new ArrayList<>();
+    private final Deque<String> repositoryCalls = new ArrayDeque<>();
+
+    private QueryLog(String request) {
+        this.request = request;
+    }
+
+    static QueryLog start(String request) {
+        QueryLog queryLog = new QueryLog(request);
+        CURRENT.set(queryLog);
+        return queryLog;
+    }
+
+    static QueryLog current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Registra una sentencia. Devuelve true la primera vez que un SELECT alcanza el umbral de repeticiones:
+     * los INSERT/UPDATE repetidos (saveAll, actualizaciones por lote) no son N+1.
+     */
+    boolean record(String sql, int nPlusOneThreshold) {
+        statements++;
+        if (!sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+            return false;
+        }
+        int count = selects.merge(sql, 1, Integer::sum);
+        if (count == nPlusOneThreshold) {
+            nPlusOne.add(sql);
+            return true;
+        }
+        return false;
+    }
+
+    void enterRepository(String method) {
+        repositoryCalls.push(method);
+    }
+
+    void exitRepository() {
+        repositoryCalls.pop();
+    }
+
+    /** Método de repositorio en ejecución (el más interno), o null si la sentencia viene de una carga lazy. */
+    String repositoryMethod() {
+        return repositoryCalls.peek();
+    }
+
+    String request() {
+        return request;
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    List<String> nPlusOne() {
+        return nPlusOne;
+    }
+
+    /** SELECT distintos ejecutados, en el orden de su primera ejecución. */
+    Set<String> selects() {
+        return selects.keySet();
+    }
+}
@@ -0,0 +1,65 @@
+package co.edu.uniquindio.application.config.query;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra en el QueryLog el método de repositorio en ejecución (para atribuirle sentencias y N+1) y
+ * escribe en el log las llamadas a repositorios que tardan más de queries.inspector.slow-threshold-ms,
+ * con el nombre del método. El SQL de cada sentencia lenta lo registra Hibernate (hibernate.log_slow_query).
+ */
+@Slf4j
+@Aspect
+@Component
+@ConditionalOnProperty(name = "queries.inspector.enabled", havingValue = "true")
+public class SlowQueryAspect {
+
+    private final long slowThresholdNanos;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public SlowQueryAspect(@Value("${queries.inspector.slow-threshold-ms:200}") long slowThresholdMs) {
+        this.slowThresholdNanos = slowThresholdMs * 1_000_000;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..)) && this(repository)")
+    public Object trace(ProceedingJoinPoint joinPoint, Object repository) throws Throwable {
+        String method = repositoryName(repository) + "." + joinPoint.getSignature().getName();
+        QueryLog queryLog = QueryLog.current();
+        int statementsBefore = queryLog != null ? queryLog.statements() : 0;
+        if (queryLog != null) {
+            queryLog.enterRepository(method);
+        }
+
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (queryLog != null) {
+                queryLog.exitRepository();
+            }
+            if (elapsed >= slowThresholdNanos) {
+                log.warn("Consulta lenta: {} tardó {} ms{}", method, elapsed / 1_000_000,
+                        queryLog != null
+                                ? " (" + (queryLog.statements() - statementsBefore) + " sentencias, " + queryLog.request() + ")"
+                                : "");
+            }
+        }
+    }
+
+    private String repositoryName(Object repository) {
+        return repositoryNames.computeIfAbsent(repository.getClass(), type -> {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(repository);
+            return interfaces.length > 0 ? interfaces[0].getSimpleName() : type.getSimpleName();
+        });
+    }
+}
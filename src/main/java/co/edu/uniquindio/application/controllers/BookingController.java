@@ -1,10 +1,13 @@
 package co.edu.uniquindio.application.controllers;
 
 import co.edu.uniquindio.application.dto.ResponseDTO;
+import co.edu.uniquindio.application.dto.booking.BookingStatusResultDTO;
+import co.edu.uniquindio.application.dto.booking.BulkBookingStatusDTO;
 import co.edu.uniquindio.application.dto.booking.CreateBookingDTO;
 import co.edu.uniquindio.application.dto.booking.ItemBookingDTO;
 import co.edu.uniquindio.application.model.enums.BookingStatus;
 import co.edu.uniquindio.application.services.BookingService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -82,4 +85,14 @@ public class BookingController {
         bookingService.rejectBooking(bookingId, hostEmail);
         return ResponseEntity.ok(new ResponseDTO<>(false, "Reserva rechazada correctamente"));
     }
-}
\ No newline at end of file
+
+    // Aprobar, rechazar o completar varias reservas a la vez; el resultado se informa por reserva
+    @PatchMapping("/bulk-status")
+    public ResponseEntity<ResponseDTO<List<BookingStatusResultDTO>>> updateStatusBulk(
+            @Valid @RequestBody BulkBookingStatusDTO bulkDTO,
+            Principal principal) throws Exception {
+        String hostEmail = principal.getName();
+        List<BookingStatusResultDTO> results = bookingService.updateStatusBulk(bulkDTO, hostEmail);
+        return ResponseEntity.ok(new ResponseDTO<>(false, results));
+    }
+}
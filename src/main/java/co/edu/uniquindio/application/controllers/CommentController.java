@@ -5,10 +5,12 @@ import co.edu.uniquindio.application.dto.ResponseDTO;
 import co.edu.uniquindio.application.dto.Comment.*;
 import co.edu.uniquindio.application.services.CommentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -37,8 +39,12 @@ public class CommentController {
     }
 
     @GetMapping("/place/{placeId}")
-    public ResponseDTO<List<CommentDTO>> getCommentsByPlace(@PathVariable Long placeId) throws Exception {
-        List<CommentDTO> comments = commentService.listCommentsByPlace(placeId);
+    public ResponseDTO<List<CommentDTO>> getCommentsByPlace(
+            @PathVariable Long placeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime lastCreatedAt,
+            @RequestParam(required = false) Long lastId,
+            @RequestParam(required = false) Integer size) throws Exception {
+        List<CommentDTO> comments = commentService.listCommentsByPlace(placeId, lastCreatedAt, lastId, size);
         return new ResponseDTO<>(false, comments);
     }
 
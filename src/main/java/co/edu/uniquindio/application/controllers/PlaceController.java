@@ -5,10 +5,12 @@ import co.edu.uniquindio.application.dto.place.*;
 import co.edu.uniquindio.application.services.FavoriteService;
 import co.edu.uniquindio.application.services.PlaceService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -32,6 +34,16 @@ public class PlaceController {
         return ResponseEntity.ok(new ResponseDTO<>(false, detail));
     }
 
+    @GetMapping("/detail/{placeId}/availability")
+    public ResponseEntity<ResponseDTO<List<AvailabilityDTO>>> getPlaceAvailability(
+            @PathVariable Long placeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) throws Exception {
+        List<AvailabilityDTO> availability = placeService.getAvailability(placeId, from, to);
+        return ResponseEntity.ok(new ResponseDTO<>(false, availability));
+    }
+
     @GetMapping("/metrics/{placeId}")
     public ResponseEntity<ResponseDTO<MetricsDTO>> getPlaceMetrics(
             @PathVariable Long placeId,
@@ -71,8 +83,10 @@ public class PlaceController {
     }
 
     @GetMapping("/autocomplete-city")
-    public ResponseEntity<ResponseDTO<List<String>>> autocompleteCity(@RequestParam String prefix) throws Exception {
-        List<String> cities = placeService.autocompleteCities(prefix);
+    public ResponseEntity<ResponseDTO<List<String>>> autocompleteCity(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) throws Exception {
+        List<String> cities = placeService.autocompleteCities(prefix, limit);
         return ResponseEntity.ok(new ResponseDTO<>(false, cities));
     }
 
@@ -0,0 +1,170 @@
+package co.edu.uniquindio.application.controllers;
+
+import co.edu.uniquindio.application.services.impl.FileStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Sirve los archivos de uploads/. Como las rutas son direccionadas por contenido, la respuesta se puede
+ * cachear indefinidamente y el ETag es el propio hash. El cuerpo se envía con sendfile cuando Tomcat lo
+ * soporta y, si no, con FileChannel.transferTo, sin copiar el archivo al heap.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/uploads")
+public class UploadController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final FileStorageService fileStorageService;
+
+    @GetMapping("/**")
+    public void download(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String relativePath = request.getRequestURI().substring(request.getContextPath().length() + "/uploads/".length());
+
+        Optional<Path> file = fileStorageService.resolveFile(relativePath);
+        if (file.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        Path path = file.get();
+        long length = Files.size(path);
+        String etag = etagFor(path, length);
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.equals("*") || ifNoneMatch.contains(etag))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+
+        // Solo se atiende el Range si If-Range (cuando viene) coincide con la versión actual
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(MediaTypeFactory.getMediaType(path.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(count);
+
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat envía el archivo con sendfile una vez que el controlador retorna
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private String etagFor(Path path, long length) throws IOException {
+        String name = path.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+
+        // Archivos direccionados por contenido: el nombre es el SHA-256
+        if (base.matches("[0-9a-f]{64}")) {
+            return "\"" + base + "\"";
+        }
+        // Archivos anteriores al almacenamiento por hash
+        return "W/\"" + length + "-" + Files.getLastModifiedTime(path).toMillis() + "\"";
+    }
+
+    /**
+     * Devuelve {inicio, fin} para un único rango válido, un arreglo vacío si el encabezado se ignora
+     * (varios rangos o formato desconocido) o null si el rango no es satisfacible.
+     */
+    private long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.contains(",")) {
+            return new long[0];
+        }
+
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+
+        try {
+            String from = spec.substring(0, dash).trim();
+            String to = spec.substring(dash + 1).trim();
+
+            if (from.isEmpty()) {
+                // bytes=-N : los últimos N bytes
+                long suffix = Long.parseLong(to);
+                if (suffix <= 0 || length == 0) {
+                    return null;
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+
+            long start = Long.parseLong(from);
+            long end = to.isEmpty() ? length - 1 : Math.min(Long.parseLong(to), length - 1);
+            if (start >= length || start > end) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -2,6 +2,7 @@ package co.edu.uniquindio.application.controllers;
 
 import co.edu.uniquindio.application.dto.user.*;
 import co.edu.uniquindio.application.dto.ResponseDTO;
+import co.edu.uniquindio.application.exceptions.NotFoundException;
 import co.edu.uniquindio.application.model.entity.User;
 import co.edu.uniquindio.application.model.enums.Status;
 import co.edu.uniquindio.application.repositories.UserRepository;
@@ -10,10 +11,18 @@ import co.edu.uniquindio.application.services.UserService;
 import co.edu.uniquindio.application.services.impl.FileStorageService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
+import java.security.Principal;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -27,6 +36,8 @@ public class UserController {
     private final UserRepository userRepository;
     private final PasswordResetService passwordResetService;
 
+    private static final String LEGAL_DOCUMENT_PATH = "/legal-document/";
+
     @GetMapping("/{id}")
     public ResponseEntity<ResponseDTO<UserDTO>> get(@PathVariable String id) throws Exception{
         UserDTO userDTO = userService.get(id);
@@ -69,8 +80,10 @@ public class UserController {
             @PathVariable String id,
             @RequestParam("file") MultipartFile file) throws Exception {
 
-        String documentUrl = fileStorageService.storeFile(file, id + "_legal");
-        
+        // Fuera de /uploads: solo se descarga autenticado como el dueño (ver getLegalDocument)
+        String fileName = fileStorageService.storePrivateFile(file, id);
+        String documentUrl = "/api/users/" + id + LEGAL_DOCUMENT_PATH + fileName;
+
         User user = userRepository.findById(id).orElseThrow();
         EditUserDTO editDTO = new EditUserDTO(
             user.getName(),
@@ -86,11 +99,38 @@ public class UserController {
         return ResponseEntity.ok(new ResponseDTO<>(false, "Documento legal subido correctamente"));
     }
 
+    // Endpoint para descargar el documento legal; solo el propio usuario puede verlo
+    @GetMapping("/{id}/legal-document/{fileName:.+}")
+    public ResponseEntity<Resource> getLegalDocument(
+            @PathVariable String id,
+            @PathVariable String fileName,
+            Principal principal) throws Exception {
+
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Usuario no encontrado"));
+        if (principal == null || !user.getEmail().equals(principal.getName())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        Path document = fileStorageService.resolvePrivateFile(id, fileName)
+                .orElseThrow(() -> new NotFoundException("Documento legal no encontrado"));
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .contentType(MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM))
+                .body(new FileSystemResource(document));
+    }
+
     // Endpoint para eliminar documento legal del anfitrión
     @DeleteMapping("/{id}/legal-document")
     public ResponseEntity<ResponseDTO<String>> deleteLegalDocument(@PathVariable String id) throws Exception {
         
         User user = userRepository.findById(id).orElseThrow();
+        String documentUrl = user.getLegalDocumentUrl();
+        if (documentUrl != null && documentUrl.contains(LEGAL_DOCUMENT_PATH)) {
+            fileStorageService.deletePrivateFile(id, documentUrl.substring(documentUrl.lastIndexOf('/') + 1));
+        }
+
         EditUserDTO editDTO = new EditUserDTO(
             user.getName(),
             user.getPhone(), 
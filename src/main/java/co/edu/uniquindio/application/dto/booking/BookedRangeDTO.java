@@ -0,0 +1,11 @@
+package co.edu.uniquindio.application.dto.booking;
+
+import java.time.LocalDateTime;
+
+public record BookedRangeDTO(
+        Long bookingId,
+        Long placeId,
+        LocalDateTime checkIn,
+        LocalDateTime checkOut
+) {
+}
@@ -0,0 +1,8 @@
+package co.edu.uniquindio.application.dto.booking;
+
+public record BookingStatusResultDTO(
+        Long bookingId,
+        boolean updated,
+        String message
+) {
+}
@@ -0,0 +1,18 @@
+package co.edu.uniquindio.application.dto.booking;
+
+import co.edu.uniquindio.application.model.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+
+public record BookingTransitionDTO(
+        Long bookingId,
+        Long placeId,
+        String placeTitle,
+        String hostEmail,
+        String guestEmail,
+        String guestName,
+        BookingStatus status,
+        LocalDateTime checkIn,
+        LocalDateTime checkOut
+) {
+}
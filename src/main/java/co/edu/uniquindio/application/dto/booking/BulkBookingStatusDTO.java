@@ -0,0 +1,13 @@
+package co.edu.uniquindio.application.dto.booking;
+
+import co.edu.uniquindio.application.model.enums.BookingStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record BulkBookingStatusDTO(
+        @NotEmpty List<Long> bookingIds,
+        @NotNull BookingStatus newStatus
+) {
+}
@@ -1,5 +1,7 @@
 package co.edu.uniquindio.application.dto.booking;
 
+import co.edu.uniquindio.application.model.enums.BookingStatus;
+
 import java.time.LocalDateTime;
 
 public record ItemBookingDTO(
@@ -14,4 +16,10 @@ public record ItemBookingDTO(
         float price,
         String status
 ) {
+    // Usado por las consultas JPQL con "SELECT new", que no pueden invocar status.name()
+    public ItemBookingDTO(Long id, Long placeId, String placeName, String placeCity, LocalDateTime createdAt,
+                          LocalDateTime checkIn, LocalDateTime checkOut, int guestCount, float price,
+                          BookingStatus status) {
+        this(id, placeId, placeName, placeCity, createdAt, checkIn, checkOut, guestCount, price, status.name());
+    }
 }
@@ -0,0 +1,7 @@
+package co.edu.uniquindio.application.dto.place;
+
+public record CityCountDTO(
+        String city,
+        Long count
+) {
+}
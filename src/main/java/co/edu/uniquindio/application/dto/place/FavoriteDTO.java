@@ -4,7 +4,8 @@ public record FavoriteDTO(
     Long placeId, 
     String title, 
     String city, 
-    String mainImage
+    String mainImage,
+    String cardImage
     
 ) {
 }
@@ -6,6 +6,8 @@ public record ItemPlaceDTO(
         String city,
         float nightlyPrice,
         float rating,
-        String coverImage
+        String coverImage,
+        // Variante mediana (640 px) para las tarjetas; la imagen principal si no hay variante
+        String cardImage
 ) {
 }
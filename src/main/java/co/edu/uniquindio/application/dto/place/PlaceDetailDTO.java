@@ -14,10 +14,16 @@ public record PlaceDetailDTO(
     float price,
     int maxGuest,
     List<String> images,
+    // Variante de detalle (1280 px) de cada imagen, en el mismo orden; la original si no tiene variante
+    List<String> detailImages,
     Double latitude,
     Double longitude,
     List<Service> services,
+    // Primera página de comentarios; el resto se pide a /api/comments/place/{id} con el cursor
     List<CommentDTO> comments,
+    long totalComments,
+    boolean hasMoreComments,
+    // Rangos ocupados en los próximos días; otras fechas en /api/places/detail/{id}/availability
     List<AvailabilityDTO> availability,
     Double averageRating
 ) {}
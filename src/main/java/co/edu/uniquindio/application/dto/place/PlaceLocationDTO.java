@@ -0,0 +1,8 @@
+package co.edu.uniquindio.application.dto.place;
+
+public record PlaceLocationDTO(
+        Long placeId,
+        Double latitude,
+        Double longitude
+) {
+}
@@ -10,5 +10,18 @@ public record SearchPlaceDTO(
     Double minPrice,
     Double maxPrice,
     List<String> services,
-    int page
+    Double minRating,
+    int page,
+    Integer size,
+    // Cursor (keyset): precio e id del último resultado de la página anterior
+    Float lastPrice,
+    Long lastId,
+    // Búsqueda geográfica: centro + radio en km, o rectángulo visible del mapa (south/west/north/east)
+    Double latitude,
+    Double longitude,
+    Double radiusKm,
+    Double south,
+    Double west,
+    Double north,
+    Double east
 ) {}
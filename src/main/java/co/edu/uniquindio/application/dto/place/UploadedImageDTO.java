@@ -0,0 +1,13 @@
+package co.edu.uniquindio.application.dto.place;
+
+import java.util.List;
+
+public record UploadedImageDTO(
+        String url,
+        String thumbnailUrl,
+        String cardUrl,
+        String detailUrl,
+        // Identificadores en el almacenamiento (original y variantes), para poder eliminarlos
+        List<String> storedIds
+) {
+}
@@ -2,6 +2,7 @@ package co.edu.uniquindio.application.exceptions;
 
 import co.edu.uniquindio.application.dto.ResponseDTO;
 import co.edu.uniquindio.application.dto.ValidationDTO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -37,6 +38,13 @@ public class RestExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body( new ResponseDTO<>(true, ex.getMessage()) );
     }
 
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ResponseDTO<String>> serviceBusyExceptionHandler(ServiceBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body( new ResponseDTO<>(true, ex.getMessage()) );
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ResponseDTO<String>> exceptionHandler (Exception e){
         return ResponseEntity.internalServerError().body( new ResponseDTO<>(true, e.getMessage()) );
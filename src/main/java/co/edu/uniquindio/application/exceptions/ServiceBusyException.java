@@ -0,0 +1,7 @@
+package co.edu.uniquindio.application.exceptions;
+
+public class ServiceBusyException extends Exception {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
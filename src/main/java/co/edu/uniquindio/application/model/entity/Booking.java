@@ -16,6 +16,14 @@ import java.time.LocalDateTime;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(indexes = {
+        // Disponibilidad y reservas por alojamiento: place_id + status, rango por fechas
+        @Index(name = "idx_booking_place_status_dates", columnList = "place_id, status, check_in, check_out"),
+        // Historial del huésped filtrado por estado y ordenado por checkIn
+        @Index(name = "idx_booking_guest_status_checkin", columnList = "guest_id, status, check_in"),
+        // Barrido del ciclo de vida (CONFIRMED con checkOut vencido)
+        @Index(name = "idx_booking_status_checkout", columnList = "status, check_out")
+})
 public class Booking {
 
     @Id
@@ -0,0 +1,38 @@
+package co.edu.uniquindio.application.model.entity;
+
+import co.edu.uniquindio.application.model.enums.BookingStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro de auditoría de un cambio de estado de reserva. Se mantiene compacto a propósito:
+ * solo el id de la reserva (sin FK ni joins) y los estados por ordinal, igual que en Booking.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "booking_status_transition",
+        indexes = @Index(name = "idx_transition_booking", columnList = "booking_id"))
+public class BookingStatusTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Column(nullable = false)
+    private BookingStatus fromStatus;
+
+    @Column(nullable = false)
+    private BookingStatus toStatus;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+}
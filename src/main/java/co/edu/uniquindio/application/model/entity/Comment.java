@@ -11,6 +11,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = @Index(name = "idx_comment_place_created", columnList = "place_id, created_at"))
 public class Comment {
 
     @Id
@@ -0,0 +1,58 @@
+package co.edu.uniquindio.application.model.entity;
+
+import co.edu.uniquindio.application.model.enums.EmailOutboxStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "email_outbox", indexes = {
+        // Sondeo del despachador: pendientes vencidas en orden de id
+        @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at, id"),
+        // Purga de enviados por antigüedad
+        @Index(name = "idx_email_outbox_status_sent", columnList = "status, sent_at")
+})
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String recipient;
+
+    @Column(nullable = false, length = 200)
+    private String subject;
+
+    @Lob
+    @Column(nullable = false)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EmailOutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime sentAt;
+
+    // Despachador que reclamó el correo; nextAttemptAt hace de plazo de ese reclamo
+    @Column(length = 36)
+    private String claimToken;
+
+    @Column(length = 500)
+    private String lastError;
+}
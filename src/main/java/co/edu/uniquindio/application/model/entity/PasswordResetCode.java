@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "password_reset_codes")
+@Table(name = "password_reset_codes",
+        indexes = @Index(name = "idx_reset_email_code_used", columnList = "email, code, used"))
 public class PasswordResetCode {
 
     @Id
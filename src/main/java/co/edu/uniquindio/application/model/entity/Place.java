@@ -4,13 +4,20 @@ import co.edu.uniquindio.application.model.enums.Service;
 import co.edu.uniquindio.application.model.enums.Status;
 import jakarta.persistence.*;
 import lombok.*;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Getter @Setter
+@Table(indexes = {
+        @Index(name = "idx_place_status_city_price", columnList = "status, city, price"),
+        // Rango de latitud del rectángulo de las búsquedas geográficas
+        @Index(name = "idx_place_status_latitude", columnList = "status, latitude")
+})
 public class Place {
 
     @Id
@@ -30,6 +37,20 @@ public class Place {
     @ElementCollection
     private List<String> images;
 
+    // Miniatura de la imagen principal generada al subirla; null si la imagen es una URL externa
+    @Column(length = 500)
+    private String coverThumbnail;
+
+    // Variante mediana de la imagen principal, para las tarjetas de listados y favoritos
+    @Column(length = 500)
+    private String coverCard;
+
+    // Variante de detalle de cada imagen subida, por URL de la original; las URLs externas no tienen entrada
+    @ElementCollection
+    @MapKeyColumn(name = "image_url", length = 500)
+    @Column(name = "detail_url", length = 500)
+    private Map<String, String> detailImages;
+
     @ElementCollection(targetClass = Service.class)
     @Enumerated(EnumType.STRING)
     @Column(name = "service")
@@ -58,15 +79,42 @@ public class Place {
     @JoinColumn(nullable = false)
     private User host;
 
+    // Agregado de calificaciones, mantenido al crear comentarios (ver PlaceRatingReconciler).
+    // No actualizable desde la entidad: solo lo escriben los UPDATE de PlaceRepository, así guardar un
+    // Place editado no pisa un comentario que se registró entre su lectura y el flush
+    @Column(nullable = false, updatable = false)
+    private long ratingSum;
+
+    @Column(nullable = false, updatable = false)
+    private long ratingCount;
+
     // Método para obtener la imagen principal
     public String getMainImage() {
         return (images != null && !images.isEmpty()) ? images.get(0) : null;
     }
 
-    // Método para obtener el rating (puedes implementar la lógica real después)
+    // Imagen para listados: la miniatura si existe, si no la imagen principal
+    public String getCoverImage() {
+        return coverThumbnail != null ? coverThumbnail : getMainImage();
+    }
+
+    // Imagen para tarjetas: la variante mediana si existe, si no la imagen principal
+    public String getCardImage() {
+        return coverCard != null ? coverCard : getMainImage();
+    }
+
+    // Variante de detalle de cada imagen, en el orden de images; la original si no tiene variante
+    public List<String> getDetailImageUrls() {
+        if (images == null) {
+            return List.of();
+        }
+        Map<String, String> details = detailImages != null ? detailImages : Map.of();
+        return images.stream().map(image -> details.getOrDefault(image, image)).toList();
+    }
+
+    // Método para obtener el rating promedio a partir del agregado, sin consultar los comentarios
     public Double getRating() {
-        // Por ahora retorna null o un valor fijo, luego puedes calcular el promedio de comentarios
-        return null;
-    }  
+        return ratingCount > 0 ? (double) ratingSum / ratingCount : null;
+    }
 
 }
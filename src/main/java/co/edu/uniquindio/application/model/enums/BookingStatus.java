@@ -10,7 +10,9 @@ public enum BookingStatus {
     CONFIRMED("Confirmada"),
     CANCELLED("Cancelada"),
     COMPLETED("Completada"),
-    REJECTED("Rechazada");
+    REJECTED("Rechazada"),
+    // Se agrega al final: Booking.status se guarda por ordinal
+    EXPIRED("Expirada");
 
     private final String label;
 
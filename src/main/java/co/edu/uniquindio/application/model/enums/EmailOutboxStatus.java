@@ -0,0 +1,7 @@
+package co.edu.uniquindio.application.model.enums;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
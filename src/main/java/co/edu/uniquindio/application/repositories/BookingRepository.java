@@ -1,16 +1,26 @@
 package co.edu.uniquindio.application.repositories;
 
+import co.edu.uniquindio.application.dto.booking.BookedRangeDTO;
+import co.edu.uniquindio.application.dto.booking.BookingTransitionDTO;
+import co.edu.uniquindio.application.dto.booking.ItemBookingDTO;
 import co.edu.uniquindio.application.model.entity.Booking;
 import co.edu.uniquindio.application.model.enums.BookingStatus;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
@@ -37,6 +47,78 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
         // filepath: src/main/java/co/edu/uniquindio/application/repositories/BookingRepository.java
     List<Booking> findByPlaceIdAndStatus(Long placeId, BookingStatus status);
 
+    // Solo el id del alojamiento, para tomar su lock antes de cargar la reserva en la transacción
+    @Query("SELECT b.place.id FROM Booking b WHERE b.id = :bookingId")
+    Optional<Long> findPlaceIdById(Long bookingId);
+
+    // Solo las fechas, sin hidratar Booking/Place/User, para construir el índice de disponibilidad
+    @Query("""
+        SELECT new co.edu.uniquindio.application.dto.booking.BookedRangeDTO(b.id, b.place.id, b.checkIn, b.checkOut)
+        FROM Booking b
+        WHERE b.status = :status
+    """)
+    List<BookedRangeDTO> findBookedRangesByStatus(BookingStatus status);
+
+    // Rangos confirmados del alojamiento que tocan [from, to], para validar confirmaciones masivas sin cargar entidades
+    @Query("""
+        SELECT new co.edu.uniquindio.application.dto.booking.BookedRangeDTO(b.id, b.place.id, b.checkIn, b.checkOut)
+        FROM Booking b
+        WHERE b.place.id = :placeId
+        AND b.status = co.edu.uniquindio.application.model.enums.BookingStatus.CONFIRMED
+        AND b.checkIn <= :to AND b.checkOut >= :from
+    """)
+    List<BookedRangeDTO> findBookedRangesByPlace(Long placeId, LocalDateTime from, LocalDateTime to);
+
+    // Todo lo necesario para validar y notificar un cambio de estado masivo, en una sola consulta
+    @Query("""
+        SELECT new co.edu.uniquindio.application.dto.booking.BookingTransitionDTO(
+            b.id, p.id, p.title, h.email, g.email, g.name, b.status, b.checkIn, b.checkOut
+        )
+        FROM Booking b JOIN b.place p JOIN p.host h JOIN b.guest g
+        WHERE b.id IN :bookingIds
+    """)
+    List<BookingTransitionDTO> findTransitionsByIds(Collection<Long> bookingIds);
+
+    // Solo cambia las reservas que siguen en el estado esperado
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Booking b
+        SET b.status = :newStatus
+        WHERE b.id IN :bookingIds AND b.status = :currentStatus
+    """)
+    int updateStatusByIds(Collection<Long> bookingIds, BookingStatus currentStatus, BookingStatus newStatus);
+
+    // SELECT ... FOR UPDATE de las reservas del lote que siguen en el estado esperado. Ordenado por id para que
+    // dos lotes que se solapan tomen los locks en el mismo orden
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN :bookingIds AND b.status = :status ORDER BY b.id")
+    List<Long> lockIdsByIdsAndStatus(Collection<Long> bookingIds, BookingStatus status);
+
+    // Reservas confirmadas cuyo checkOut ya pasó, de la más antigua a la más reciente, por lotes.
+    // FOR UPDATE SKIP LOCKED (timeout -2): el lote queda reclamado hasta el commit y se saltan las filas
+    // que otra transacción tiene bloqueadas
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+        SELECT b.id FROM Booking b
+        WHERE b.status = co.edu.uniquindio.application.model.enums.BookingStatus.CONFIRMED
+        AND b.checkOut < :now
+        ORDER BY b.checkOut, b.id
+    """)
+    List<Long> findIdsToComplete(LocalDateTime now, Pageable pageable);
+
+    // Reservas pendientes sin respuesta del anfitrión a tiempo o cuyo checkIn ya pasó (mismo reclamo que findIdsToComplete)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+        SELECT b.id FROM Booking b
+        WHERE b.status = co.edu.uniquindio.application.model.enums.BookingStatus.PENDING
+        AND (b.createdAt < :createdBefore OR b.checkIn < :now)
+        ORDER BY b.createdAt, b.id
+    """)
+    List<Long> findIdsToExpire(LocalDateTime createdBefore, LocalDateTime now, Pageable pageable);
+
     @Query("""
         SELECT COUNT(b) FROM Booking b
         WHERE b.place.id = :placeId
@@ -64,23 +146,30 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     """)
     int countFutureBookings(Long placeId, LocalDateTime now);
 
-        // Listar reservas de usuario con paginación y filtro por estado
+        // Listar reservas de usuario con paginación y filtro por estado.
+    // Proyección directa a ItemBookingDTO: una sola sentencia sin cargar Place/User por fila
     @Query("""
-        SELECT b FROM Booking b
+        SELECT new co.edu.uniquindio.application.dto.booking.ItemBookingDTO(
+            b.id, p.id, p.title, p.city, b.createdAt, b.checkIn, b.checkOut, b.guestCount, p.price, b.status
+        )
+        FROM Booking b JOIN b.place p
         WHERE b.guest.email = :email
         AND (:status IS NULL OR b.status = :status)
         ORDER BY b.checkIn DESC
     """)
-    Page<Booking> findBookingsByUserAndStatusPaged(String email, BookingStatus status, Pageable pageable);
+    Slice<ItemBookingDTO> findItemsByUserAndStatus(String email, BookingStatus status, Pageable pageable);
 
     // Listar reservas de alojamiento con paginación y filtros
     @Query("""
-        SELECT b FROM Booking b
-        WHERE b.place.id = :placeId
+        SELECT new co.edu.uniquindio.application.dto.booking.ItemBookingDTO(
+            b.id, p.id, p.title, p.city, b.createdAt, b.checkIn, b.checkOut, b.guestCount, p.price, b.status
+        )
+        FROM Booking b JOIN b.place p
+        WHERE p.id = :placeId
         AND (:status IS NULL OR b.status = :status)
         AND (:from IS NULL OR b.checkIn >= :from)
         AND (:to IS NULL OR b.checkOut <= :to)
         ORDER BY b.checkIn DESC
     """)
-    Page<Booking> findBookingsByPlaceAndFiltersPaged(Long placeId, BookingStatus status, LocalDateTime from, LocalDateTime to, Pageable pageable);
+    Slice<ItemBookingDTO> findItemsByPlaceAndFilters(Long placeId, BookingStatus status, LocalDateTime from, LocalDateTime to, Pageable pageable);
 }
@@ -0,0 +1,13 @@
+package co.edu.uniquindio.application.repositories;
+
+import co.edu.uniquindio.application.model.entity.BookingStatusTransition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BookingStatusTransitionRepository extends JpaRepository<BookingStatusTransition, Long> {
+
+    List<BookingStatusTransition> findByBookingIdOrderByChangedAtAsc(Long bookingId);
+}
@@ -1,10 +1,13 @@
 package co.edu.uniquindio.application.repositories;
 
+import co.edu.uniquindio.application.dto.Comment.CommentDTO;
 import co.edu.uniquindio.application.model.entity.Comment;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -30,6 +33,23 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("SELECT c FROM Comment c WHERE c.place.id = :placeId ORDER BY c.createdAt DESC")
     List<Comment> findByPlaceIdOrderByCreatedAtDesc(Long placeId);
 
+    // Proyección a CommentDTO con el nombre del autor en la misma sentencia, paginada por cursor
+    // (createdAt + id del último comentario de la página anterior)
+    @Query("""
+        SELECT new co.edu.uniquindio.application.dto.Comment.CommentDTO(
+            c.id, a.name, c.rating, c.text, c.createdAt, c.hostReply
+        )
+        FROM Comment c JOIN c.author a
+        WHERE c.place.id = :placeId
+        AND (
+            :lastCreatedAt IS NULL
+            OR c.createdAt < :lastCreatedAt
+            OR (c.createdAt = :lastCreatedAt AND c.id < :lastId)
+        )
+        ORDER BY c.createdAt DESC, c.id DESC
+    """)
+    Slice<CommentDTO> findItemsByPlaceId(Long placeId, LocalDateTime lastCreatedAt, Long lastId, Pageable pageable);
+
     @Query("SELECT AVG(c.rating) FROM Comment c WHERE c.place.id = :placeId")
     Double findAverageRatingByPlaceId(Long placeId);
 }
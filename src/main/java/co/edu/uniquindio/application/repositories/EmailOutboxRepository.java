@@ -0,0 +1,47 @@
+package co.edu.uniquindio.application.repositories;
+
+import co.edu.uniquindio.application.model.entity.EmailOutbox;
+import co.edu.uniquindio.application.model.enums.EmailOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("""
+        SELECT e.id FROM EmailOutbox e
+        WHERE e.status = :status AND e.nextAttemptAt <= :now
+        ORDER BY e.id
+    """)
+    List<Long> findDueIds(EmailOutboxStatus status, LocalDateTime now, Pageable pageable);
+
+    /**
+     * Reclama los correos que siguen pendientes y vencidos; otro despachador que los haya reclamado primero
+     * ya movió su nextAttemptAt, así que la condición deja de cumplirse y esas filas no se actualizan.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE EmailOutbox e
+        SET e.claimToken = :claimToken, e.nextAttemptAt = :leaseUntil
+        WHERE e.id IN :ids AND e.status = :status AND e.nextAttemptAt <= :now
+    """)
+    int claim(Collection<Long> ids, EmailOutboxStatus status, LocalDateTime now,
+              String claimToken, LocalDateTime leaseUntil);
+
+    // Por id (clave primaria) y no solo por token, que no tiene índice
+    List<EmailOutbox> findByIdInAndClaimTokenOrderByIdAsc(Collection<Long> ids, String claimToken);
+
+    @Query("""
+        SELECT e.id FROM EmailOutbox e
+        WHERE e.status = :status AND e.sentAt < :before
+        ORDER BY e.sentAt
+    """)
+    List<Long> findIdsSentBefore(EmailOutboxStatus status, LocalDateTime before, Pageable pageable);
+}
@@ -4,6 +4,7 @@ import co.edu.uniquindio.application.model.entity.Favorite;
 import co.edu.uniquindio.application.model.entity.Place;
 import co.edu.uniquindio.application.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
@@ -11,5 +12,16 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
     boolean existsByUserAndPlace(User user, Place place);
     void deleteByUserAndPlace(User user, Place place);
     List<Favorite> findByUser(User user);
+
+    // Trae favorito, alojamiento, anfitrión e imágenes en una sola sentencia
+    @Query("""
+        SELECT f FROM Favorite f
+        JOIN FETCH f.user u
+        JOIN FETCH f.place p
+        JOIN FETCH p.host
+        LEFT JOIN FETCH p.images
+        WHERE u.email = :email
+    """)
+    List<Favorite> findWithPlaceByUserEmail(String email);
     int countByPlace(Place place);
 }
@@ -1,18 +1,28 @@
 package co.edu.uniquindio.application.repositories;
 
+import co.edu.uniquindio.application.dto.place.CityCountDTO;
+import co.edu.uniquindio.application.dto.place.PlaceLocationDTO;
 import co.edu.uniquindio.application.model.entity.Place;
 import co.edu.uniquindio.application.model.enums.Service;
-import co.edu.uniquindio.application.model.enums.BookingStatus;
-import java.time.LocalDate;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PlaceRepository extends JpaRepository<Place, Long> {
 
+    // La disponibilidad por fechas no se filtra aquí: se comprueba en memoria (AvailabilityIndex) sobre los candidatos.
+    // El área geográfica es un rectángulo (west > east cruza el antimeridiano); el radio exacto lo da PlaceGeoIndex en memoria
     @Query("""
         SELECT p FROM Place p
         WHERE p.status = 'ACTIVE'
@@ -24,33 +34,51 @@ public interface PlaceRepository extends JpaRepository<Place, Long> {
                 SELECT s FROM p.services s WHERE s IN :services
             )
         )
-        AND NOT EXISTS (
-            SELECT b FROM Booking b
-            WHERE b.place.id = p.id
-            AND b.status = :confirmedStatus
-            AND (
-                (:checkIn BETWEEN b.checkIn AND b.checkOut)
-                OR (:checkOut BETWEEN b.checkIn AND b.checkOut)
-                OR (b.checkIn BETWEEN :checkIn AND :checkOut)
-            )
+        AND (:south IS NULL OR p.latitude BETWEEN :south AND :north)
+        AND (
+            :west IS NULL
+            OR (:west <= :east AND p.longitude BETWEEN :west AND :east)
+            OR (:west > :east AND (p.longitude >= :west OR p.longitude <= :east))
         )
+        AND (:minRating IS NULL OR (p.ratingCount > 0 AND p.ratingSum >= :minRating * p.ratingCount))
+        AND (
+            :lastPrice IS NULL
+            OR p.price > :lastPrice
+            OR (p.price = :lastPrice AND p.id > :lastId)
+        )
+        ORDER BY p.price ASC, p.id ASC
     """)
-    List<Place> searchAvailablePlaces(
+    Slice<Place> searchAvailablePlaces(
         @Param("city") String city,
-        @Param("checkIn") LocalDate checkIn,
-        @Param("checkOut") LocalDate checkOut,
         @Param("minPrice") Double minPrice,
         @Param("maxPrice") Double maxPrice,
         @Param("services") List<Service> services,
-        @Param("confirmedStatus") BookingStatus confirmedStatus
+        @Param("south") Double south,
+        @Param("west") Double west,
+        @Param("north") Double north,
+        @Param("east") Double east,
+        @Param("minRating") Double minRating,
+        @Param("lastPrice") Float lastPrice,
+        @Param("lastId") Long lastId,
+        Pageable pageable
     );
 
+    // Ubicaciones de los alojamientos activos, para cargar el índice geográfico
+    @Query("""
+        SELECT new co.edu.uniquindio.application.dto.place.PlaceLocationDTO(p.id, p.latitude, p.longitude)
+        FROM Place p
+        WHERE p.status = 'ACTIVE'
+    """)
+    List<PlaceLocationDTO> findActiveLocations();
+
+    // Cantidad de alojamientos activos por ciudad, para cargar el índice de autocompletado
     @Query("""
-        SELECT DISTINCT p.city FROM Place p
+        SELECT new co.edu.uniquindio.application.dto.place.CityCountDTO(p.city, COUNT(p))
+        FROM Place p
         WHERE p.status = 'ACTIVE'
-        AND LOWER(p.city) LIKE LOWER(CONCAT(:prefix, '%'))
+        GROUP BY p.city
     """)
-    List<String> findCitiesByPrefix(@Param("prefix") String prefix);
+    List<CityCountDTO> countActivePlacesByCity();
 
     @Query("""
         SELECT p FROM Place p
@@ -59,4 +87,38 @@ public interface PlaceRepository extends JpaRepository<Place, Long> {
         ORDER BY p.id DESC
     """)
     List<Place> findByHostEmailAndActiveStatus(@Param("hostEmail") String hostEmail);
-}
\ No newline at end of file
+
+    // Bloquea la fila del alojamiento (SELECT ... FOR UPDATE) para serializar la confirmación de reservas
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT p FROM Place p WHERE p.id = :placeId")
+    Optional<Place> findByIdForUpdate(@Param("placeId") Long placeId);
+
+    @Query("SELECT p.host.email FROM Place p WHERE p.id = :placeId")
+    Optional<String> findHostEmailById(@Param("placeId") Long placeId);
+
+    // Vacía el contexto antes y lo limpia después: un Place ya cargado no debe quedar con el agregado viejo
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Place p
+        SET p.ratingSum = p.ratingSum + :rating, p.ratingCount = p.ratingCount + 1
+        WHERE p.id = :placeId
+    """)
+    void addRating(@Param("placeId") Long placeId, @Param("rating") long rating);
+
+    // Promedio leído del agregado en la base, sin pasar por un Place que pueda estar en el contexto de persistencia
+    @Query("""
+        SELECT CAST(p.ratingSum AS double) / p.ratingCount FROM Place p
+        WHERE p.id = :placeId AND p.ratingCount > 0
+    """)
+    Optional<Double> findAverageRatingById(@Param("placeId") Long placeId);
+
+    // Recalcula el agregado de calificaciones desde los comentarios (backfill / reconciliación)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Place p
+        SET p.ratingSum = (SELECT COALESCE(SUM(c.rating), 0) FROM Comment c WHERE c.place.id = p.id),
+            p.ratingCount = (SELECT COUNT(c) FROM Comment c WHERE c.place.id = p.id)
+    """)
+    int reconcileRatings();
+}
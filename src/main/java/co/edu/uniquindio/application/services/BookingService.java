@@ -1,6 +1,8 @@
 package co.edu.uniquindio.application.services;
 
 import co.edu.uniquindio.application.dto.booking.BookingDTO;
+import co.edu.uniquindio.application.dto.booking.BookingStatusResultDTO;
+import co.edu.uniquindio.application.dto.booking.BulkBookingStatusDTO;
 import co.edu.uniquindio.application.dto.booking.CreateBookingDTO;
 import co.edu.uniquindio.application.dto.booking.ItemBookingDTO;
 import co.edu.uniquindio.application.dto.booking.StatusBookingDTO;
@@ -31,4 +33,6 @@ public interface BookingService {
 
     void updateStatus(Long bookingId, BookingStatus newStatus, String userEmail) throws Exception;
 
+    List<BookingStatusResultDTO> updateStatusBulk(BulkBookingStatusDTO bulkDTO, String hostEmail) throws Exception;
+
 }
@@ -1,5 +1,6 @@
 package co.edu.uniquindio.application.services;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import co.edu.uniquindio.application.dto.Comment.*;;
@@ -10,7 +11,7 @@ public interface CommentService {
 
     void replyToComment(ReplyCommentDTO dto, String email) throws Exception;
 
-    List<CommentDTO> listCommentsByPlace(Long placeId) throws Exception;
+    List<CommentDTO> listCommentsByPlace(Long placeId, LocalDateTime lastCreatedAt, Long lastId, Integer size) throws Exception;
 
     Double getAverageRatingByPlace(Long placeId) throws Exception;
 
@@ -1,7 +1,11 @@
 package co.edu.uniquindio.application.services;
 
+import co.edu.uniquindio.application.dto.booking.BookingTransitionDTO;
 import co.edu.uniquindio.application.exceptions.ValidationException;
 import co.edu.uniquindio.application.model.entity.Booking;
+import co.edu.uniquindio.application.model.enums.BookingStatus;
+
+import java.util.List;
 
 public interface EmailService {
     void sendResetCodeEmail(String email, String code) throws ValidationException;
@@ -9,4 +13,6 @@ public interface EmailService {
     void sendNewCommentNotification(String hostEmail, String guestName, String placeTitle, String commentText, int rating);
 
     void sendBookingConfirmation(String userEmail, Booking booking);
+
+    void sendBookingStatusUpdates(List<BookingTransitionDTO> bookings, BookingStatus newStatus);
 }
@@ -1,9 +1,11 @@
 package co.edu.uniquindio.application.services;
 
+import co.edu.uniquindio.application.dto.place.UploadedImageDTO;
 import org.springframework.web.multipart.MultipartFile;
 import java.util.List;
 
 public interface ImageService {
-    List<String> uploadImages(List<MultipartFile> files) throws Exception;
+    List<UploadedImageDTO> uploadImages(List<MultipartFile> files) throws Exception;
     String uploadDocument(MultipartFile file) throws Exception;
+    void deleteImages(List<UploadedImageDTO> images);
 }
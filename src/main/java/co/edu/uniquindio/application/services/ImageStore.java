@@ -0,0 +1,23 @@
+package co.edu.uniquindio.application.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Almacenamiento de imágenes/documentos subidos. La implementación se elige con images.store
+ * (cloudinary en producción, local para desarrollo y pruebas).
+ */
+public interface ImageStore {
+
+    StoredImage store(InputStream content, String originalFilename, String folder) throws IOException;
+
+    /**
+     * Guarda una versión derivada (JPEG) junto a la imagen original identificada por originalId.
+     */
+    StoredImage storeVariant(String originalId, String variant, InputStream content) throws IOException;
+
+    void delete(String id) throws IOException;
+
+    record StoredImage(String id, String url) {
+    }
+}
@@ -1,5 +1,6 @@
 package co.edu.uniquindio.application.services;
 
+import co.edu.uniquindio.application.exceptions.ServiceBusyException;
 import co.edu.uniquindio.application.exceptions.ValidationException;
 
 public interface PasswordResetService {
@@ -12,5 +13,5 @@ public interface PasswordResetService {
     /**
      * Validar código y restablecer contraseña
      */
-    void validateCodeAndResetPassword(String email, String code, String newPassword) throws ValidationException;
+    void validateCodeAndResetPassword(String email, String code, String newPassword) throws ValidationException, ServiceBusyException;
 }
\ No newline at end of file
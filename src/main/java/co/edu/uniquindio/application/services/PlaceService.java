@@ -2,6 +2,7 @@ package co.edu.uniquindio.application.services;
 
 import co.edu.uniquindio.application.dto.place.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -23,5 +24,7 @@ public interface PlaceService {
 
     PlaceDetailDTO getPlaceDetail(Long placeId) throws Exception;
 
-    List<String> autocompleteCities(String prefix) throws Exception;
+    List<AvailabilityDTO> getAvailability(Long placeId, LocalDate from, LocalDate to) throws Exception;
+
+    List<String> autocompleteCities(String prefix, int limit) throws Exception;
 }
@@ -0,0 +1,210 @@
+package co.edu.uniquindio.application.services.impl;
+
+import co.edu.uniquindio.application.dto.booking.BookedRangeDTO;
+import co.edu.uniquindio.application.dto.place.AvailabilityDTO;
+import co.edu.uniquindio.application.model.entity.Booking;
+import co.edu.uniquindio.application.model.enums.BookingStatus;
+import co.edu.uniquindio.application.repositories.BookingRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice en memoria de las reservas CONFIRMED de cada alojamiento.
+ * Permite responder "¿está libre el alojamiento X entre checkIn y checkOut?" en O(log n)
+ * sin consultar la base de datos. Se construye al arrancar y se actualiza cuando una
+ * reserva entra o sale del estado CONFIRMED (después del commit, si hay transacción).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityIndex {
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, PlaceCalendar> calendars = new ConcurrentHashMap<>();
+    private final Map<Long, Long> placeByBooking = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        long start = System.currentTimeMillis();
+        bookingRepository.findBookedRangesByStatus(BookingStatus.CONFIRMED).forEach(this::add);
+        log.info("Índice de disponibilidad cargado: {} reservas confirmadas en {} alojamientos ({} ms)",
+                placeByBooking.size(), calendars.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Indica si el alojamiento no tiene reservas confirmadas que se crucen con el rango dado.
+     * Mantiene la semántica inclusiva de la consulta original (BETWEEN).
+     */
+    public boolean isAvailable(Long placeId, LocalDateTime checkIn, LocalDateTime checkOut) {
+        PlaceCalendar calendar = calendars.get(placeId);
+        return calendar == null || !calendar.overlaps(checkIn, checkOut);
+    }
+
+    /**
+     * Rangos ocupados del alojamiento que se cruzan con [from, to], ordenados y fusionados cuando
+     * se solapan o son contiguos, para que la respuesta sea compacta.
+     */
+    public List<AvailabilityDTO> findBookedRanges(Long placeId, LocalDateTime from, LocalDateTime to) {
+        PlaceCalendar calendar = calendars.get(placeId);
+        if (calendar == null) {
+            return List.of();
+        }
+
+        List<AvailabilityDTO> merged = new ArrayList<>();
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        for (BookedRangeDTO range : calendar.overlapping(from, to)) {
+            if (start != null && !range.checkIn().isAfter(end)) {
+                if (range.checkOut().isAfter(end)) {
+                    end = range.checkOut();
+                }
+                continue;
+            }
+            if (start != null) {
+                merged.add(new AvailabilityDTO(start, end));
+            }
+            start = range.checkIn();
+            end = range.checkOut();
+        }
+        if (start != null) {
+            merged.add(new AvailabilityDTO(start, end));
+        }
+        return merged;
+    }
+
+    /**
+     * Registra una reserva que pasó a CONFIRMED.
+     */
+    public void markBooked(Booking booking) {
+        markBooked(new BookedRangeDTO(
+                booking.getId(), booking.getPlace().getId(), booking.getCheckIn(), booking.getCheckOut()));
+    }
+
+    public void markBooked(BookedRangeDTO range) {
+        TransactionHooks.afterCommit(() -> add(range));
+    }
+
+    /**
+     * Quita una reserva que dejó de estar CONFIRMED (cancelada, completada, etc.).
+     */
+    public void release(Booking booking) {
+        release(booking.getId());
+    }
+
+    public void release(Long bookingId) {
+        TransactionHooks.afterCommit(() -> remove(bookingId));
+    }
+
+    private void add(BookedRangeDTO range) {
+        remove(range.bookingId());
+        calendars.computeIfAbsent(range.placeId(), id -> new PlaceCalendar()).add(range);
+        placeByBooking.put(range.bookingId(), range.placeId());
+    }
+
+    private void remove(Long bookingId) {
+        Long placeId = placeByBooking.remove(bookingId);
+        if (placeId == null) {
+            return;
+        }
+        PlaceCalendar calendar = calendars.get(placeId);
+        if (calendar != null) {
+            calendar.remove(bookingId);
+        }
+    }
+
+    /**
+     * Reservas de un alojamiento ordenadas por checkIn. Para encontrar cruces basta con
+     * recorrer las que empiezan en [checkIn - duración máxima, checkOut].
+     */
+    private static class PlaceCalendar {
+
+        private static final Comparator<BookedRangeDTO> BY_CHECK_IN = Comparator
+                .comparing(BookedRangeDTO::checkIn)
+                .thenComparing(BookedRangeDTO::bookingId);
+
+        private final NavigableSet<BookedRangeDTO> ranges = new TreeSet<>(BY_CHECK_IN);
+        private final Map<Long, BookedRangeDTO> byBooking = new ConcurrentHashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private Duration maxDuration = Duration.ZERO;
+
+        void add(BookedRangeDTO range) {
+            lock.writeLock().lock();
+            try {
+                ranges.add(range);
+                byBooking.put(range.bookingId(), range);
+                Duration duration = Duration.between(range.checkIn(), range.checkOut());
+                if (duration.compareTo(maxDuration) > 0) {
+                    maxDuration = duration;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long bookingId) {
+            lock.writeLock().lock();
+            try {
+                BookedRangeDTO range = byBooking.remove(bookingId);
+                if (range != null) {
+                    ranges.remove(range);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<BookedRangeDTO> overlapping(LocalDateTime checkIn, LocalDateTime checkOut) {
+            lock.readLock().lock();
+            try {
+                List<BookedRangeDTO> result = new ArrayList<>();
+                if (ranges.isEmpty()) {
+                    return result;
+                }
+                BookedRangeDTO from = new BookedRangeDTO(Long.MIN_VALUE, null, checkIn.minus(maxDuration), null);
+                BookedRangeDTO to = new BookedRangeDTO(Long.MAX_VALUE, null, checkOut, null);
+                for (BookedRangeDTO range : ranges.subSet(from, true, to, true)) {
+                    if (!range.checkOut().isBefore(checkIn)) {
+                        result.add(range);
+                    }
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        boolean overlaps(LocalDateTime checkIn, LocalDateTime checkOut) {
+            lock.readLock().lock();
+            try {
+                if (ranges.isEmpty()) {
+                    return false;
+                }
+                BookedRangeDTO from = new BookedRangeDTO(Long.MIN_VALUE, null, checkIn.minus(maxDuration), null);
+                BookedRangeDTO to = new BookedRangeDTO(Long.MAX_VALUE, null, checkOut, null);
+                for (BookedRangeDTO range : ranges.subSet(from, true, to, true)) {
+                    if (!range.checkOut().isBefore(checkIn)) {
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package co.edu.uniquindio.application.services.impl;
+
+import co.edu.uniquindio.application.exceptions.ValidationException;
+import co.edu.uniquindio.application.model.entity.Booking;
+import co.edu.uniquindio.application.repositories.BookingRepository;
+import co.edu.uniquindio.application.repositories.PlaceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializa la confirmación de reservas por alojamiento para que dos reservas que se cruzan
+ * nunca queden CONFIRMED a la vez.
+ *
+ * Dentro de este proceso, un lock por franjas (placeId % stripes) evita que las peticiones del mismo
+ * alojamiento compitan en la base de datos. Entre instancias, la fila del alojamiento se bloquea con
+ * SELECT ... FOR UPDATE y el cruce se verifica contra la base, no contra el índice en memoria (que se
+ * actualiza después del commit). Si la base aborta por timeout de lock o deadlock, se reintenta.
+ */
+@Slf4j
+@Component
+public class BookingAdmission {
+
+    public interface Action<T> {
+        T run() throws Exception;
+    }
+
+    private final PlaceRepository placeRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] stripes;
+    private final int maxAttempts;
+
+    public BookingAdmission(PlaceRepository placeRepository,
+                            BookingRepository bookingRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${bookings.admission.lock-stripes:64}") int lockStripes,
+                            @Value("${bookings.admission.max-attempts:3}") int maxAttempts) {
+        this.placeRepository = placeRepository;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = new ReentrantLock[Math.max(1, lockStripes)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * Ejecuta la acción en su propia transacción mientras se tiene el lock del alojamiento.
+     * El lock se libera después del commit, así la siguiente petición ya ve la reserva confirmada.
+     */
+    public <T> T execute(Long placeId, Action<T> action) throws Exception {
+        ReentrantLock lock = stripes[Math.floorMod(placeId.hashCode(), stripes.length)];
+        lock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> {
+                        try {
+                            return action.run();
+                        } catch (RuntimeException e) {
+                            throw e;
+                        } catch (Exception e) {
+                            throw new CheckedFailure(e);
+                        }
+                    });
+                } catch (CheckedFailure e) {
+                    throw e.getCause() instanceof Exception cause ? cause : e;
+                } catch (ConcurrencyFailureException e) {
+                    if (attempt >= maxAttempts) {
+                        throw e;
+                    }
+                    log.warn("Conflicto de concurrencia confirmando reserva del alojamiento {} (intento {}/{}): {}",
+                            placeId, attempt, maxAttempts, e.getMessage());
+                    backoff(attempt);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Bloquea la fila del alojamiento y verifica en la base que ninguna reserva CONFIRMED se cruce con la dada.
+     * Debe llamarse dentro de execute().
+     */
+    public void lockAndCheckOverlap(Booking booking) throws ValidationException {
+        lockPlace(booking.getPlace().getId());
+
+        boolean overlaps = bookingRepository
+                .findOverlappingBookings(booking.getPlace().getId(), booking.getCheckIn(), booking.getCheckOut())
+                .stream()
+                .anyMatch(other -> !other.getId().equals(booking.getId()));
+        if (overlaps) {
+            throw new ValidationException("El alojamiento ya tiene una reserva confirmada en esas fechas");
+        }
+    }
+
+    /**
+     * Bloquea la fila del alojamiento hasta el fin de la transacción. Debe llamarse dentro de execute().
+     */
+    public void lockPlace(Long placeId) {
+        placeRepository.findByIdForUpdate(placeId);
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(25L * attempt + ThreadLocalRandom.current().nextLong(25));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class CheckedFailure extends RuntimeException {
+        CheckedFailure(Exception cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package co.edu.uniquindio.application.services.impl;
+
+import co.edu.uniquindio.application.model.entity.BookingStatusTransition;
+import co.edu.uniquindio.application.model.enums.BookingStatus;
+import co.edu.uniquindio.application.repositories.BookingRepository;
+import co.edu.uniquindio.application.repositories.BookingStatusTransitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Avanza el ciclo de vida de las reservas sin intervención del anfitrión:
+ * CONFIRMED pasa a COMPLETED cuando el checkOut ya pasó y PENDING pasa a EXPIRED cuando el anfitrión
+ * no respondió en bookings.lifecycle.pending-timeout (o el checkIn ya pasó).
+ *
+ * Recorre las reservas en orden de fecha por lotes acotados; cada lote es un UPDATE masivo en su propia
+ * transacción junto con sus registros de auditoría, así una corrida larga no retiene locks ni memoria.
+ * La lectura del lote lo bloquea (FOR UPDATE SKIP LOCKED): otra instancia o una petición concurrente no puede
+ * cambiar esas reservas antes del UPDATE, y la auditoría registra solo las transiciones de este lote.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingLifecycleScheduler {
+
+    private final BookingRepository bookingRepository;
+    private final BookingStatusTransitionRepository transitionRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bookings.lifecycle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${bookings.lifecycle.batch-size:500}")
+    private int batchSize;
+
+    @Value("${bookings.lifecycle.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${bookings.lifecycle.pending-timeout:PT48H}")
+    private Duration pendingTimeout;
+
+    @Scheduled(fixedDelayString = "${bookings.lifecycle.poll-delay-ms:60000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        int completed = completeFinished(now);
+        int expired = expireStale(now);
+        if (completed > 0 || expired > 0) {
+            log.info("Ciclo de vida de reservas: {} completadas, {} expiradas ({} ms)",
+                    completed, expired, System.currentTimeMillis() - start);
+        }
+    }
+
+    public int completeFinished(LocalDateTime now) {
+        return drain(BookingStatus.CONFIRMED, BookingStatus.COMPLETED,
+                page -> bookingRepository.findIdsToComplete(now, page));
+    }
+
+    public int expireStale(LocalDateTime now) {
+        LocalDateTime createdBefore = now.minus(pendingTimeout);
+        return drain(BookingStatus.PENDING, BookingStatus.EXPIRED,
+                page -> bookingRepository.findIdsToExpire(createdBefore, now, page));
+    }
+
+    private int drain(BookingStatus from, BookingStatus to, Function<Pageable, List<Long>> nextChunk) {
+        int moved = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            // Las reservas movidas dejan de cumplir el filtro, así que siempre se pide la primera página
+            Chunk chunk = transactionTemplate.execute(status -> moveChunk(from, to, nextChunk.apply(PageRequest.of(0, batchSize))));
+            moved += chunk.moved();
+            if (chunk.fetched() < batchSize) {
+                break;
+            }
+        }
+        return moved;
+    }
+
+    private Chunk moveChunk(BookingStatus from, BookingStatus to, List<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return new Chunk(0, 0);
+        }
+
+        // Las filas llegan bloqueadas y en el estado from, así que el UPDATE las mueve todas
+        int applied = bookingRepository.updateStatusByIds(bookingIds, from, to);
+        if (applied != bookingIds.size()) {
+            throw new IllegalStateException("El lote cambió de estado pese al bloqueo: " + applied + " de " + bookingIds.size());
+        }
+
+        LocalDateTime changedAt = LocalDateTime.now();
+        transitionRepository.saveAll(bookingIds.stream()
+                .map(bookingId -> BookingStatusTransition.builder()
+                        .bookingId(bookingId)
+                        .fromStatus(from)
+                        .toStatus(to)
+                        .changedAt(changedAt)
+                        .build())
+                .toList());
+
+        if (from == BookingStatus.CONFIRMED) {
+            bookingIds.forEach(availabilityIndex::release);
+        }
+        return new Chunk(bookingIds.size(), applied);
+    }
+
+    private record Chunk(int fetched, int moved) {
+    }
+}
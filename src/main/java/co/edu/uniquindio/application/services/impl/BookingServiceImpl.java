@@ -9,24 +9,45 @@ import co.edu.uniquindio.application.repositories.*;
 import co.edu.uniquindio.application.services.BookingService;
 import co.edu.uniquindio.application.services.EmailService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Page;
 
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final int MAX_BULK_BOOKINGS = 200;
+
     private final BookingRepository bookingRepository;
     private final PlaceRepository placeRepository;
     private final UserRepository userRepository;
     private final EmailService emailService;
+    private final AvailabilityIndex availabilityIndex;
+    private final PlaceDetailCache placeDetailCache;
+    private final BookingAdmission bookingAdmission;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
+    @Transactional
     public Long create(CreateBookingDTO createBookingDTO, String email) throws Exception {
         Place place = placeRepository.findById(createBookingDTO.placeId())
                 .orElseThrow(() -> new ValidationException("Alojamiento no encontrado"));
@@ -48,9 +69,7 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException("No se puede superar la capacidad máxima");
         }
 
-        List<Booking> overlapping = bookingRepository.findOverlappingBookings(
-                place.getId(), checkIn, checkOut);
-        if (!overlapping.isEmpty()) {
+        if (!availabilityIndex.isAvailable(place.getId(), checkIn, checkOut)) {
             throw new ValidationException("El alojamiento no está disponible en esas fechas");
         }
 
@@ -85,8 +104,14 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException("Solo puedes cancelar reservas hasta 48 horas antes del check-in");
         }
 
+        boolean wasConfirmed = booking.getStatus() == BookingStatus.CONFIRMED;
         booking.setStatus(BookingStatus.CANCELLED);
         bookingRepository.save(booking);
+        availabilityIndex.release(booking);
+        if (wasConfirmed) {
+            // El detalle del alojamiento lista las reservas confirmadas
+            placeDetailCache.invalidate(booking.getPlace().getId());
+        }
     }
 
     @Override
@@ -106,19 +131,7 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<ItemBookingDTO> getBookingsUser(String email, BookingStatus status, int page, int size) throws Exception {
-        Page<Booking> bookings = bookingRepository.findBookingsByUserAndStatusPaged(email, status, PageRequest.of(page, size));
-        return bookings.stream().map(b -> new ItemBookingDTO(
-                b.getId(),
-                b.getPlace().getId(),
-                b.getPlace().getTitle(),
-                b.getPlace().getCity(),
-                b.getCreatedAt(),
-                b.getCheckIn(),
-                b.getCheckOut(),
-                b.getGuestCount(),
-                b.getPlace().getPrice(),
-                b.getStatus().name()
-        )).toList();
+        return bookingRepository.findItemsByUserAndStatus(email, status, PageRequest.of(page, size)).getContent();
     }
 
     @Override
@@ -131,45 +144,44 @@ public class BookingServiceImpl implements BookingService {
             int page,
             int size
     ) throws Exception {
-        Place place = placeRepository.findById(placeId)
+        String placeHostEmail = placeRepository.findHostEmailById(placeId)
             .orElseThrow(() -> new NotFoundException("Alojamiento no encontrado"));
 
-        if (!place.getHost().getEmail().equals(hostEmail)) {
+        if (!placeHostEmail.equals(hostEmail)) {
             throw new ValidationException("Solo el anfitrión puede ver las reservas de su alojamiento");
         }
 
-        Page<Booking> bookings = bookingRepository.findBookingsByPlaceAndFiltersPaged(placeId, status, from, to, PageRequest.of(page, size));
-
-        return bookings.stream().map(b -> new ItemBookingDTO(
-            b.getId(),
-            b.getPlace().getId(),
-            b.getPlace().getTitle(),
-            b.getPlace().getCity(),
-            b.getCreatedAt(),
-            b.getCheckIn(),
-            b.getCheckOut(),
-            b.getGuestCount(),
-            b.getPlace().getPrice(),
-            b.getStatus().name()
-        )).toList();
+        return bookingRepository.findItemsByPlaceAndFilters(placeId, status, from, to, PageRequest.of(page, size))
+            .getContent();
     }
 
     @Override
     public void approveBooking(Long bookingId, String hostEmail) throws Exception {
-        Booking booking = bookingRepository.findById(bookingId)
+        Long placeId = bookingRepository.findPlaceIdById(bookingId)
             .orElseThrow(() -> new NotFoundException("Reserva no encontrada"));
 
-        // Validar que el usuario autenticado es el anfitrión
-        if (!booking.getPlace().getHost().getEmail().equals(hostEmail)) {
-            throw new ValidationException("Solo el anfitrión puede aprobar la reserva");
-        }
+        // Confirmar ocupa las fechas: se serializa por alojamiento y se verifica el cruce contra la base
+        bookingAdmission.execute(placeId, () -> {
+            Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Reserva no encontrada"));
 
-        if (!booking.getStatus().equals(BookingStatus.PENDING)) {
-            throw new ValidationException("Solo reservas pendientes pueden ser aprobadas");
-        }
+            // Validar que el usuario autenticado es el anfitrión
+            if (!booking.getPlace().getHost().getEmail().equals(hostEmail)) {
+                throw new ValidationException("Solo el anfitrión puede aprobar la reserva");
+            }
 
-        booking.setStatus(BookingStatus.CONFIRMED);
-        bookingRepository.save(booking);
+            if (!booking.getStatus().equals(BookingStatus.PENDING)) {
+                throw new ValidationException("Solo reservas pendientes pueden ser aprobadas");
+            }
+
+            bookingAdmission.lockAndCheckOverlap(booking);
+
+            booking.setStatus(BookingStatus.CONFIRMED);
+            bookingRepository.save(booking);
+            availabilityIndex.markBooked(booking);
+            placeDetailCache.invalidate(booking.getPlace().getId());
+            return null;
+        });
     }
 
     @Override
@@ -191,6 +203,20 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public void updateStatus(Long bookingId, BookingStatus newStatus, String userEmail) throws Exception {
+        if (newStatus != BookingStatus.CONFIRMED) {
+            applyStatus(bookingId, newStatus, userEmail);
+            return;
+        }
+
+        Long placeId = bookingRepository.findPlaceIdById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Reserva no encontrada"));
+        bookingAdmission.execute(placeId, () -> {
+            applyStatus(bookingId, newStatus, userEmail);
+            return null;
+        });
+    }
+
+    private void applyStatus(Long bookingId, BookingStatus newStatus, String userEmail) throws Exception {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Reserva no encontrada"));
 
@@ -203,6 +229,7 @@ public class BookingServiceImpl implements BookingService {
                 if (booking.getStatus() != BookingStatus.PENDING) {
                     throw new ValidationException("Solo reservas pendientes pueden ser confirmadas");
                 }
+                bookingAdmission.lockAndCheckOverlap(booking);
             }
             case COMPLETED -> {
                 if (!booking.getPlace().getHost().getEmail().equals(userEmail)) {
@@ -220,7 +247,176 @@ public class BookingServiceImpl implements BookingService {
             default -> throw new ValidationException("Estado de reserva inválido");
         }
 
+        boolean wasConfirmed = booking.getStatus() == BookingStatus.CONFIRMED;
         booking.setStatus(newStatus);
         bookingRepository.save(booking);
+
+        if (newStatus == BookingStatus.CONFIRMED) {
+            availabilityIndex.markBooked(booking);
+        } else {
+            availabilityIndex.release(booking);
+        }
+        if (wasConfirmed != (newStatus == BookingStatus.CONFIRMED)) {
+            placeDetailCache.invalidate(booking.getPlace().getId());
+        }
+    }
+
+    /**
+     * Cambia el estado de varias reservas del anfitrión de una vez. La propiedad y el estado se validan
+     * con una sola consulta y cada transición se aplica con un UPDATE masivo; las que no se pueden aplicar
+     * se informan por id en lugar de abortar todo el lote.
+     */
+    @Override
+    public List<BookingStatusResultDTO> updateStatusBulk(BulkBookingStatusDTO bulkDTO, String hostEmail) throws Exception {
+        BookingStatus newStatus = bulkDTO.newStatus();
+        BookingStatus requiredStatus = switch (newStatus) {
+            case CONFIRMED, REJECTED -> BookingStatus.PENDING;
+            case COMPLETED -> BookingStatus.CONFIRMED;
+            default -> throw new ValidationException("Estado no permitido en cambios masivos: " + newStatus.name());
+        };
+
+        List<Long> bookingIds = bulkDTO.bookingIds().stream().filter(Objects::nonNull).distinct().toList();
+        if (bookingIds.isEmpty()) {
+            throw new ValidationException("Debe indicar al menos una reserva");
+        }
+        if (bookingIds.size() > MAX_BULK_BOOKINGS) {
+            throw new ValidationException("No se pueden actualizar más de " + MAX_BULK_BOOKINGS + " reservas a la vez");
+        }
+
+        Map<Long, BookingTransitionDTO> rows = bookingRepository.findTransitionsByIds(bookingIds).stream()
+                .collect(Collectors.toMap(BookingTransitionDTO::bookingId, Function.identity()));
+
+        Map<Long, String> failures = new HashMap<>();
+        List<BookingTransitionDTO> eligible = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            BookingTransitionDTO row = rows.get(bookingId);
+            if (row == null) {
+                failures.put(bookingId, "Reserva no encontrada");
+            } else if (!row.hostEmail().equals(hostEmail)) {
+                failures.put(bookingId, "Solo el anfitrión puede cambiar el estado de la reserva");
+            } else if (row.status() != requiredStatus) {
+                failures.put(bookingId, "La reserva debe estar en estado " + requiredStatus.name());
+            } else {
+                eligible.add(row);
+            }
+        }
+
+        List<BookingTransitionDTO> updated = newStatus == BookingStatus.CONFIRMED
+                ? confirmBulk(eligible, failures)
+                : transitionBulk(eligible, requiredStatus, newStatus, failures);
+
+        Set<Long> updatedIds = new HashSet<>();
+        updated.forEach(row -> updatedIds.add(row.bookingId()));
+        return bookingIds.stream()
+                .map(bookingId -> updatedIds.contains(bookingId)
+                        ? new BookingStatusResultDTO(bookingId, true, "Reserva actualizada a " + newStatus.name())
+                        : new BookingStatusResultDTO(bookingId, false, failures.get(bookingId)))
+                .toList();
+    }
+
+    // Rechazar o completar no ocupa fechas: basta un UPDATE para todo el lote en una transacción
+    private List<BookingTransitionDTO> transitionBulk(
+            List<BookingTransitionDTO> eligible,
+            BookingStatus currentStatus,
+            BookingStatus newStatus,
+            Map<Long, String> failures
+    ) {
+        if (eligible.isEmpty()) {
+            return List.of();
+        }
+
+        return transactionTemplate.execute(status -> {
+            List<BookingTransitionDTO> updated = applyBulkUpdate(eligible, currentStatus, newStatus, failures);
+            if (currentStatus == BookingStatus.CONFIRMED) {
+                updated.forEach(row -> availabilityIndex.release(row.bookingId()));
+                updated.stream().map(BookingTransitionDTO::placeId).distinct().forEach(placeDetailCache::invalidate);
+            }
+            emailService.sendBookingStatusUpdates(updated, newStatus);
+            return updated;
+        });
+    }
+
+    // Confirmar sí ocupa fechas: un lote por alojamiento, bajo el mismo lock que approveBooking
+    private List<BookingTransitionDTO> confirmBulk(List<BookingTransitionDTO> eligible, Map<Long, String> failures)
+            throws Exception {
+        Map<Long, List<BookingTransitionDTO>> byPlace = eligible.stream()
+                .collect(Collectors.groupingBy(BookingTransitionDTO::placeId, TreeMap::new, Collectors.toList()));
+
+        List<BookingTransitionDTO> confirmed = new ArrayList<>();
+        for (Map.Entry<Long, List<BookingTransitionDTO>> entry : byPlace.entrySet()) {
+            try {
+                confirmed.addAll(bookingAdmission.execute(entry.getKey(),
+                        () -> confirmPlace(entry.getKey(), entry.getValue(), failures)));
+            } catch (ConcurrencyFailureException e) {
+                log.warn("No se pudo confirmar el lote del alojamiento {}: {}", entry.getKey(), e.getMessage());
+                entry.getValue().forEach(row ->
+                        failures.put(row.bookingId(), "Conflicto de concurrencia, intente de nuevo"));
+            }
+        }
+        return confirmed;
+    }
+
+    private List<BookingTransitionDTO> confirmPlace(
+            Long placeId,
+            List<BookingTransitionDTO> candidates,
+            Map<Long, String> failures
+    ) {
+        bookingAdmission.lockPlace(placeId);
+
+        LocalDateTime from = candidates.stream().map(BookingTransitionDTO::checkIn).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime to = candidates.stream().map(BookingTransitionDTO::checkOut).max(Comparator.naturalOrder()).orElseThrow();
+        List<BookedRangeDTO> taken = new ArrayList<>(bookingRepository.findBookedRangesByPlace(placeId, from, to));
+
+        // Por orden de llegada: una reserva que se cruza con otra ya aceptada del mismo lote se rechaza
+        List<BookingTransitionDTO> accepted = new ArrayList<>();
+        for (BookingTransitionDTO candidate : candidates.stream().sorted(Comparator.comparing(BookingTransitionDTO::bookingId)).toList()) {
+            boolean overlaps = taken.stream().anyMatch(range -> !range.bookingId().equals(candidate.bookingId())
+                    && !range.checkIn().isAfter(candidate.checkOut())
+                    && !candidate.checkIn().isAfter(range.checkOut()));
+            if (overlaps) {
+                failures.put(candidate.bookingId(), "El alojamiento ya tiene una reserva confirmada en esas fechas");
+            } else {
+                accepted.add(candidate);
+                taken.add(new BookedRangeDTO(candidate.bookingId(), placeId, candidate.checkIn(), candidate.checkOut()));
+            }
+        }
+        if (accepted.isEmpty()) {
+            return List.of();
+        }
+
+        List<BookingTransitionDTO> updated = applyBulkUpdate(accepted, BookingStatus.PENDING, BookingStatus.CONFIRMED, failures);
+        updated.forEach(row -> availabilityIndex.markBooked(
+                new BookedRangeDTO(row.bookingId(), placeId, row.checkIn(), row.checkOut())));
+        if (!updated.isEmpty()) {
+            placeDetailCache.invalidate(placeId);
+        }
+        emailService.sendBookingStatusUpdates(updated, BookingStatus.CONFIRMED);
+        return updated;
+    }
+
+    private List<BookingTransitionDTO> applyBulkUpdate(
+            List<BookingTransitionDTO> rows,
+            BookingStatus currentStatus,
+            BookingStatus newStatus,
+            Map<Long, String> failures
+    ) {
+        List<Long> bookingIds = rows.stream().map(BookingTransitionDTO::bookingId).toList();
+
+        // Primero se bloquean las que siguen en currentStatus: hasta el commit nadie más puede cambiarlas, así que
+        // el UPDATE toca exactamente esas filas y no se atribuyen al lote transiciones hechas por otra petición
+        Set<Long> locked = new HashSet<>(bookingRepository.lockIdsByIdsAndStatus(bookingIds, currentStatus));
+        if (!locked.isEmpty()) {
+            bookingRepository.updateStatusByIds(locked, currentStatus, newStatus);
+        }
+
+        List<BookingTransitionDTO> updated = new ArrayList<>();
+        for (BookingTransitionDTO row : rows) {
+            if (locked.contains(row.bookingId())) {
+                updated.add(row);
+            } else {
+                failures.put(row.bookingId(), "La reserva cambió de estado durante la operación");
+            }
+        }
+        return updated;
     }
 }
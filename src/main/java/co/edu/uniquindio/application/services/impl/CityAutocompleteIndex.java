@@ -0,0 +1,180 @@
+package co.edu.uniquindio.application.services.impl;
+
+import co.edu.uniquindio.application.dto.place.CityCountDTO;
+import co.edu.uniquindio.application.repositories.PlaceRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Trie en memoria con las ciudades que tienen alojamientos ACTIVE, para el autocompletado.
+ * Las claves se normalizan sin tildes ni mayúsculas ("bogota" encuentra "Bogotá") y los
+ * resultados se ordenan por cantidad de alojamientos. Se carga al arrancar y se actualiza
+ * al crear o eliminar alojamientos (deshaciendo el cambio si la transacción hace rollback).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CityAutocompleteIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private static final Comparator<CityEntry> RANKING = Comparator
+            .comparingLong((CityEntry entry) -> entry.total)
+            .reversed()
+            .thenComparing(entry -> entry.key);
+
+    private final PlaceRepository placeRepository;
+
+    private final Node root = new Node();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void load() {
+        long start = System.currentTimeMillis();
+        List<CityCountDTO> counts = placeRepository.countActivePlacesByCity();
+        counts.forEach(count -> apply(count.city(), count.count()));
+        log.info("Índice de ciudades cargado: {} ciudades ({} ms)", counts.size(), System.currentTimeMillis() - start);
+    }
+
+    public void addPlace(String city) {
+        if (apply(city, 1)) {
+            TransactionHooks.onRollback(() -> apply(city, -1));
+        }
+    }
+
+    public void removePlace(String city) {
+        if (apply(city, -1)) {
+            TransactionHooks.onRollback(() -> apply(city, 1));
+        }
+    }
+
+    /**
+     * Hasta limit ciudades que empiezan por el prefijo (sin distinguir tildes ni mayúsculas),
+     * de la que tiene más alojamientos a la que menos.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+
+            // Top-K con un heap acotado: el peor de los K mejores queda en la cabeza
+            PriorityQueue<CityEntry> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(node);
+            while (!pending.isEmpty()) {
+                Node current = pending.pop();
+                if (current.city != null && current.city.total > 0) {
+                    best.offer(current.city);
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+                current.children.values().forEach(pending::push);
+            }
+
+            List<CityEntry> ranked = new ArrayList<>(best);
+            ranked.sort(RANKING);
+            return ranked.stream().map(CityEntry::displayName).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean apply(String city, long delta) {
+        if (city == null) {
+            return false;
+        }
+        String display = SPACES.matcher(city.trim()).replaceAll(" ");
+        String key = normalize(display);
+        if (key.isEmpty()) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            }
+            if (node.city == null) {
+                node.city = new CityEntry(key);
+            }
+            node.city.add(display, delta);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        String plain = DIACRITICS.matcher(decomposed).replaceAll("");
+        return SPACES.matcher(plain).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private CityEntry city;
+    }
+
+    /**
+     * Una ciudad normalizada. Puede escribirse de varias formas ("Bogotá", "Bogota"); se muestra la más usada.
+     */
+    private static class CityEntry {
+        private final String key;
+        private final Map<String, Long> countsByDisplay = new HashMap<>();
+        private long total;
+        private String displayName;
+
+        CityEntry(String key) {
+            this.key = key;
+        }
+
+        void add(String display, long delta) {
+            long count = countsByDisplay.merge(display, delta, Long::sum);
+            if (count <= 0) {
+                countsByDisplay.remove(display);
+            }
+            total = Math.max(0, total + delta);
+            displayName = countsByDisplay.entrySet().stream()
+                    .max(Map.Entry.<String, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+        }
+
+        String displayName() {
+            return displayName;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package co.edu.uniquindio.application.services.impl;
+
+import co.edu.uniquindio.application.services.ImageStore;
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(name = "images.store", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryImageStore implements ImageStore {
+
+    private final Cloudinary cloudinary;
+
+    public CloudinaryImageStore(@Value("${cloudinary.cloud_name}") String cloudName,
+                                @Value("${cloudinary.api_key}") String apiKey,
+                                @Value("${cloudinary.api_secret}") String apiSecret) {
+        cloudinary = new Cloudinary(ObjectUtils.asMap(
+            "cloud_name", cloudName,
+            "api_key", apiKey,
+            "api_secret", apiSecret
+        ));
+    }
+
+    @Override
+    public StoredImage store(InputStream content, String originalFilename, String folder) throws IOException {
+        // Se vuelca el stream a un archivo temporal para que el SDK lo lea desde disco y no desde un byte[] en memoria
+        Path tempFile = Files.createTempFile("upload-", ".tmp");
+        try {
+            Files.copy(content, tempFile, StandardCopyOption.REPLACE_EXISTING);
+
+            Map<String, Object> options = folder == null
+                    ? ObjectUtils.asMap("resource_type", "auto")
+                    : ObjectUtils.asMap("resource_type", "auto", "folder", folder);
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> uploadResult = cloudinary.uploader().upload(tempFile.toFile(), options);
+            return new StoredImage(uploadResult.get("public_id").toString(), uploadResult.get("secure_url").toString());
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public StoredImage storeVariant(String originalId, String variant, InputStream content) throws IOException {
+        // Las variantes son pequeñas; se suben desde memoria con un public_id derivado del original
+        @SuppressWarnings("unchecked")
+        Map<String, Object> uploadResult = cloudinary.uploader().upload(content.readAllBytes(), ObjectUtils.asMap(
+                "resource_type", "image",
+                "public_id", originalId + "_" + variant,
+                "overwrite", true
+        ));
+        return new StoredImage(uploadResult.get("public_id").toString(), uploadResult.get("secure_url").toString());
+    }
+
+    @Override
+    public void delete(String id) throws IOException {
+        cloudinary.uploader().destroy(id, ObjectUtils.emptyMap());
+    }
+}
@@ -9,7 +9,9 @@ import co.edu.uniquindio.application.repositories.*;
 import co.edu.uniquindio.application.services.CommentService;
 import co.edu.uniquindio.application.services.EmailService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,9 +22,15 @@ public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
+    private final PlaceRepository placeRepository;
      private final EmailService emailService;
+    private final PlaceDetailCache placeDetailCache;
+
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 50;
 
     @Override
+    @Transactional
 public CommentDTO createComment(CreateCommentDTO dto, String email) throws Exception {
     Booking booking = bookingRepository.findById(dto.bookingId())
             .orElseThrow(() -> new ValidationException("Reserva no encontrada"));
@@ -62,6 +70,8 @@ public CommentDTO createComment(CreateCommentDTO dto, String email) throws Excep
             .build();
 
     commentRepository.save(comment);
+    placeRepository.addRating(comment.getPlace().getId(), comment.getRating());
+    placeDetailCache.invalidate(comment.getPlace().getId());
 
     User host = comment.getPlace().getHost();
         emailService.sendNewCommentNotification(
@@ -95,27 +105,22 @@ public CommentDTO createComment(CreateCommentDTO dto, String email) throws Excep
 
         comment.setHostReply(dto.reply());
         commentRepository.save(comment);
+        placeDetailCache.invalidate(comment.getPlace().getId());
     }
 
     @Override
-    public List<CommentDTO> listCommentsByPlace(Long placeId) throws Exception {
-        List<Comment> comments = commentRepository.findByPlaceIdOrderByCreatedAtDesc(placeId);
-        return comments.stream()
-            .map(comment -> new CommentDTO(
-                comment.getId(),
-                comment.getAuthor().getName(),
-                comment.getRating(),
-                comment.getText(),
-                comment.getCreatedAt(),
-                comment.getHostReply()
-            ))
-            .toList();
+    public List<CommentDTO> listCommentsByPlace(Long placeId, LocalDateTime lastCreatedAt, Long lastId, Integer size) throws Exception {
+        if (lastCreatedAt != null && lastId == null) {
+            throw new ValidationException("El cursor requiere lastCreatedAt y lastId");
+        }
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return commentRepository.findItemsByPlaceId(placeId, lastCreatedAt, lastId, PageRequest.of(0, pageSize))
+                .getContent();
     }
 
     @Override
     public Double getAverageRatingByPlace(Long placeId) throws Exception {
-        Double avg = commentRepository.findAverageRatingByPlaceId(placeId);
-        // Si no hay comentarios, retorna 0.0
-        return avg != null ? avg : 0.0;
+        // Si no hay comentarios (o el alojamiento no existe), retorna 0.0
+        return placeRepository.findAverageRatingById(placeId).orElse(0.0);
     }
 }
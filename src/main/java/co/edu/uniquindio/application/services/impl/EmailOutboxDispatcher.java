@@ -0,0 +1,222 @@
+package co.edu.uniquindio.application.services.impl;
+
+import co.edu.uniquindio.application.model.entity.EmailOutbox;
+import co.edu.uniquindio.application.model.enums.EmailOutboxStatus;
+import co.edu.uniquindio.application.repositories.EmailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Envía en segundo plano los correos encolados en email_outbox.
+ * Cada lote se entrega con una sola llamada a JavaMailSender.send(MimeMessage...),
+ * que abre una única conexión SMTP (Transport) para todos los mensajes del lote.
+ * Los fallos se reintentan con backoff exponencial hasta email.outbox.max-attempts.
+ *
+ * Con varias instancias de la aplicación cada lote se reclama primero con un UPDATE condicionado que marca las
+ * filas con un token propio y corre su nextAttemptAt email.outbox.lease-seconds hacia adelante; solo se envían
+ * las filas que ese UPDATE alcanzó. El envío SMTP ocurre fuera de la transacción del reclamo, y si la instancia
+ * muere a mitad del lote los correos vuelven a estar disponibles al vencer el plazo.
+ * Los correos enviados se purgan cada noche al superar email.outbox.retention, por lotes y cada uno en su propia
+ * transacción, para que la tabla (y el sondeo) no crezca con cada correo.
+ * Métricas: app.email.dispatch (duración de cada lote por resultado) y app.email.messages (por estado).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailOutboxDispatcher {
+
+    private static final String FROM = "noreply@alojamientosapp.com";
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${email.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.backoff-seconds:30}")
+    private long backoffSeconds;
+
+    @Value("${email.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${email.outbox.retention:P7D}")
+    private Duration retention;
+
+    @Value("${email.outbox.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-delay-ms:2000}")
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+
+        String claimToken = UUID.randomUUID().toString();
+        List<EmailOutbox> batch = transactionTemplate.execute(status -> claim(claimToken));
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+
+        Map<MimeMessage, EmailOutbox> messages = new LinkedHashMap<>();
+        for (EmailOutbox email : batch) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException e) {
+                // Un mensaje mal formado no se va a arreglar reintentando
+                markFailed(email, e);
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            send(messages);
+        }
+        emailOutboxRepository.saveAll(batch);
+    }
+
+    @Scheduled(cron = "${email.outbox.purge-cron:0 30 3 * * *}")
+    public void purgeSent() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = emailOutboxRepository.findIdsSentBefore(
+                        EmailOutboxStatus.SENT, before, PageRequest.of(0, purgeBatchSize));
+                if (!ids.isEmpty()) {
+                    emailOutboxRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            });
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("Purgados {} correos enviados antes de {}", purged, before);
+        }
+    }
+
+    private List<EmailOutbox> claim(String claimToken) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = emailOutboxRepository.findDueIds(EmailOutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+        if (dueIds.isEmpty()) {
+            return List.of();
+        }
+        emailOutboxRepository.claim(dueIds, EmailOutboxStatus.PENDING, now, claimToken, now.plusSeconds(leaseSeconds));
+        return emailOutboxRepository.findByIdInAndClaimTokenOrderByIdAsc(dueIds, claimToken);
+    }
+
+    private void send(Map<MimeMessage, EmailOutbox> messages) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            messages.values().forEach(this::markSent);
+            log.info("Lote de {} correos enviado", messages.size());
+
+        } catch (MailSendException e) {
+            outcome = "partial";
+            // Algunos mensajes pudieron salir; solo se reintentan los que fallaron
+            Map<Object, Exception> failed = e.getFailedMessages();
+            messages.forEach((message, email) -> {
+                if (failed.containsKey(message)) {
+                    scheduleRetry(email, failed.get(message));
+                } else {
+                    markSent(email);
+                }
+            });
+            log.error("Falló el envío de {} de {} correos del lote: {}", failed.size(), messages.size(), e.getMessage());
+
+        } catch (MailException e) {
+            outcome = "error";
+            // Error de conexión o autenticación: no salió ningún mensaje del lote
+            messages.values().forEach(email -> scheduleRetry(email, e));
+            log.error("Falló el envío del lote de correos: {}", e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer("app.email.dispatch", "outcome", outcome));
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody());
+        helper.setFrom(FROM);
+        return message;
+    }
+
+    private void markSent(EmailOutbox email) {
+        email.setStatus(EmailOutboxStatus.SENT);
+        email.setSentAt(LocalDateTime.now());
+        email.setAttempts(email.getAttempts() + 1);
+        email.setLastError(null);
+        email.setClaimToken(null);
+        countMessage("sent");
+    }
+
+    private void markFailed(EmailOutbox email, Exception e) {
+        email.setStatus(EmailOutboxStatus.FAILED);
+        email.setAttempts(email.getAttempts() + 1);
+        email.setLastError(truncate(e.getMessage()));
+        email.setClaimToken(null);
+        countMessage("failed");
+    }
+
+    private void scheduleRetry(EmailOutbox email, Exception e) {
+        int attempts = email.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            markFailed(email, e);
+            return;
+        }
+        email.setAttempts(attempts);
+        email.setLastError(truncate(e.getMessage()));
+        email.setClaimToken(null);
+        // Backoff exponencial: 30s, 60s, 120s, ...
+        email.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoffSeconds << (attempts - 1)));
+        countMessage("retry");
+    }
+
+    private void countMessage(String status) {
+        meterRegistry.counter("app.email.messages", "status", status).increment();
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
@@ -1,12 +1,13 @@
 package co.edu.uniquindio.application.services.impl;
 
+import co.edu.uniquindio.application.dto.booking.BookingTransitionDTO;
 import co.edu.uniquindio.application.exceptions.ValidationException;
 import co.edu.uniquindio.application.model.entity.Booking;
+import co.edu.uniquindio.application.model.entity.EmailOutbox;
+import co.edu.uniquindio.application.model.enums.BookingStatus;
+import co.edu.uniquindio.application.model.enums.EmailOutboxStatus;
+import co.edu.uniquindio.application.repositories.EmailOutboxRepository;
 import co.edu.uniquindio.application.services.EmailService;
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Paragraph;
 import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.util.ByteArrayDataSource;
 import lombok.RequiredArgsConstructor;
@@ -15,9 +16,11 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 @Slf4j
@@ -26,6 +29,8 @@ import java.util.regex.Pattern;
 public class EmailServiceImpl implements EmailService {
 
     private final JavaMailSender mailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final ResetCodePdfRenderer resetCodePdfRenderer;
 
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
 
@@ -94,128 +99,136 @@ public class EmailServiceImpl implements EmailService {
     }
 
     /**
-     * Genera un PDF para el código de recuperación
+     * Genera un PDF para el código de recuperación a partir de la plantilla precalculada
      */
     private byte[] generateResetCodePdf(String email, String code) throws Exception {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
-        try (PdfWriter writer = new PdfWriter(outputStream);
-             PdfDocument pdf = new PdfDocument(writer);
-             Document document = new Document(pdf)) {
-
-            LocalDateTime expirationTime = LocalDateTime.now().plusMinutes(15);
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
-
-            // Contenido del PDF
-            document.add(new Paragraph("RECUPERACIÓN DE CONTRASEÑA - ALOJAMIENTOS APP")
-                    .setBold().setFontSize(16));
-            document.add(new Paragraph(" "));
-            document.add(new Paragraph("Fecha: " + LocalDateTime.now().format(formatter)));
-            document.add(new Paragraph(" "));
-            document.add(new Paragraph("Estimado usuario,"));
-            document.add(new Paragraph(" "));
-            document.add(new Paragraph("Has solicitado restablecer tu contraseña. Usa el siguiente código:"));
-            document.add(new Paragraph(" "));
-
-            // Código destacado
-            document.add(new Paragraph("CÓDIGO DE VERIFICACIÓN:")
-                    .setBold());
-            document.add(new Paragraph(code)
-                    .setFontSize(24)
-                    .setBold()
-                    .setMarginTop(10)
-                    .setMarginBottom(10));
-
-            document.add(new Paragraph(" "));
-            document.add(new Paragraph("Email: " + email));
-            document.add(new Paragraph("Válido hasta: " + expirationTime.format(formatter)));
-            document.add(new Paragraph(" "));
-            document.add(new Paragraph("Instrucciones:")
-                    .setBold());
-            document.add(new Paragraph("1. Ingresa este código en la aplicación"));
-            document.add(new Paragraph("2. Crea una nueva contraseña"));
-            document.add(new Paragraph("3. El código expira en 15 minutos"));
-            document.add(new Paragraph(" "));
-            document.add(new Paragraph(" Si no solicitaste este cambio, ignora este mensaje."));
-            document.add(new Paragraph(" "));
-            document.add(new Paragraph("Atentamente,"));
-            document.add(new Paragraph("El equipo de Alojamientos App"));
-        }
-
-        return outputStream.toByteArray();
+        LocalDateTime now = LocalDateTime.now();
+        return resetCodePdfRenderer.render(email, code, now, now.plusMinutes(15));
     }
 
     @Override
     public void sendNewCommentNotification(String hostEmail, String guestName, String placeTitle, String commentText, int rating) {
-        log.info("Intentando enviar notificación de nuevo comentario a: {}", hostEmail);
-        try {
-            emailValidator(hostEmail);
-
-            String subject = "Nuevo comentario en tu alojamiento";
-            String body = String.format(
-                "¡Hola!\n\n%s ha dejado un nuevo comentario en tu alojamiento \"%s\":\n\n\"%s\"\n\nCalificación: %d estrellas.\n\nIngresa a Hostify para responder el comentario.",
-                guestName, placeTitle, commentText, rating
-            );
-
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+        log.info("Encolando notificación de nuevo comentario para: {}", hostEmail);
+        if (!isValidRecipient(hostEmail)) {
+            return;
+        }
 
-            helper.setTo(hostEmail);
-            helper.setSubject(subject);
-            helper.setText(body);
-            helper.setFrom("noreply@alojamientosapp.com");
+        String subject = "Nuevo comentario en tu alojamiento";
+        String body = String.format(
+            "¡Hola!\n\n%s ha dejado un nuevo comentario en tu alojamiento \"%s\":\n\n\"%s\"\n\nCalificación: %d estrellas.\n\nIngresa a Hostify para responder el comentario.",
+            guestName, placeTitle, commentText, rating
+        );
 
-            mailSender.send(message);
-            log.info("Notificación de comentario enviada correctamente a: {}", hostEmail);
+        enqueue(hostEmail, subject, body);
+    }
 
-        } catch (Exception e) {
-            log.error("Falló el envío de notificación de comentario: {}", e.getMessage());
-            // No lanzamos excepción para no interrumpir el flujo principal
+    @Override
+    public void sendBookingConfirmation(String userEmail, Booking booking) {
+        log.info("Encolando confirmación de reserva para: {}", userEmail);
+        if (!isValidRecipient(userEmail)) {
+            return;
         }
+
+        String subject = "Confirmación de Reserva - Hostify";
+        String body = String.format(
+            "¡Hola %s!\n\nTu reserva en \"%s\" ha sido creada exitosamente.\n\n" +
+            "Detalles:\n" +
+            "- Ciudad: %s\n" +
+            "- Dirección: %s\n" +
+            "- Check-in: %s\n" +
+            "- Check-out: %s\n" +
+            "- Número de huéspedes: %d\n" +
+            "- Precio por noche: $%.2f\n\n" +
+            "Estado actual: %s\n\n" +
+            "Gracias por reservar con Hostify.",
+            booking.getGuest().getName(),
+            booking.getPlace().getTitle(),
+            booking.getPlace().getCity(),
+            booking.getPlace().getAddress(),
+            booking.getCheckIn().toLocalDate(),
+            booking.getCheckOut().toLocalDate(),
+            booking.getGuestCount(),
+            booking.getPlace().getPrice(),
+            booking.getStatus().name()
+        );
+
+        enqueue(userEmail, subject, body);
     }
 
+    /**
+     * Un solo correo por huésped con todas sus reservas del lote, encolados con un único saveAll.
+     */
     @Override
-    public void sendBookingConfirmation(String userEmail, Booking booking) {
-        log.info("Enviando confirmación de reserva a: {}", userEmail);
-        try {
-            emailValidator(userEmail);
+    public void sendBookingStatusUpdates(List<BookingTransitionDTO> bookings, BookingStatus newStatus) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        log.info("Encolando {} notificaciones de cambio de estado ({})", bookings.size(), newStatus.name());
+        Map<String, List<BookingTransitionDTO>> byGuest = new LinkedHashMap<>();
+        for (BookingTransitionDTO booking : bookings) {
+            byGuest.computeIfAbsent(booking.guestEmail(), email -> new ArrayList<>()).add(booking);
+        }
+
+        List<EmailOutbox> entries = new ArrayList<>(byGuest.size());
+        for (Map.Entry<String, List<BookingTransitionDTO>> entry : byGuest.entrySet()) {
+            if (!isValidRecipient(entry.getKey())) {
+                continue;
+            }
+
+            StringBuilder details = new StringBuilder();
+            for (BookingTransitionDTO booking : entry.getValue()) {
+                details.append(String.format("- \"%s\": %s a %s\n",
+                        booking.placeTitle(),
+                        booking.checkIn().toLocalDate(),
+                        booking.checkOut().toLocalDate()));
+            }
 
-            String subject = "Confirmación de Reserva - Hostify";
             String body = String.format(
-                "¡Hola %s!\n\nTu reserva en \"%s\" ha sido creada exitosamente.\n\n" +
-                "Detalles:\n" +
-                "- Ciudad: %s\n" +
-                "- Dirección: %s\n" +
-                "- Check-in: %s\n" +
-                "- Check-out: %s\n" +
-                "- Número de huéspedes: %d\n" +
-                "- Precio por noche: $%.2f\n\n" +
-                "Estado actual: %s\n\n" +
+                "¡Hola %s!\n\nEl anfitrión actualizó tus reservas al estado \"%s\":\n\n%s\n" +
                 "Gracias por reservar con Hostify.",
-                booking.getGuest().getName(),
-                booking.getPlace().getTitle(),
-                booking.getPlace().getCity(),
-                booking.getPlace().getAddress(),
-                booking.getCheckIn().toLocalDate(),
-                booking.getCheckOut().toLocalDate(),
-                booking.getGuestCount(),
-                booking.getPlace().getPrice(),
-                booking.getStatus().name()
+                entry.getValue().get(0).guestName(),
+                newStatus.getLabel(),
+                details
             );
+            entries.add(outboxEntry(entry.getKey(), "Actualización de tus reservas - Hostify", body));
+        }
 
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+        emailOutboxRepository.saveAll(entries);
+    }
 
-            helper.setTo(userEmail);
-            helper.setSubject(subject);
-            helper.setText(body);
-            helper.setFrom("noreply@alojamientosapp.com");
+    /**
+     * Un destinatario inválido no se puede corregir reintentando: se omite su correo sin afectar la operación.
+     */
+    private boolean isValidRecipient(String email) {
+        try {
+            emailValidator(email);
+            return true;
+        } catch (ValidationException e) {
+            log.error("No se encola el correo: {}", e.getMessage());
+            return false;
+        }
+    }
 
-            mailSender.send(message);
-            log.info("Confirmación de reserva enviada correctamente a: {}", userEmail);
+    /**
+     * Guarda el correo en la tabla email_outbox dentro de la transacción del llamador, así el correo y el
+     * cambio que lo origina se confirman o se revierten juntos; un error al guardar se propaga.
+     * El envío real lo hace EmailOutboxDispatcher en segundo plano, así la latencia
+     * del servidor SMTP no se suma a la de la petición.
+     */
+    private void enqueue(String to, String subject, String body) {
+        emailOutboxRepository.save(outboxEntry(to, subject, body));
+    }
 
-        } catch (Exception e) {
-            log.error("Falló el envío de confirmación de reserva: {}", e.getMessage());
-        }
+    private EmailOutbox outboxEntry(String to, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        return EmailOutbox.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build();
     }
-}
\ No newline at end of file
+}
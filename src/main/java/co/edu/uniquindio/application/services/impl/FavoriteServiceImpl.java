@@ -39,14 +39,14 @@ public class FavoriteServiceImpl implements FavoriteService {
 
     @Override
     public List<FavoriteDTO> getUserFavorites(String userEmail) throws Exception {
-        User user = userRepository.findByEmail(userEmail).orElseThrow();
-        return favoriteRepository.findByUser(user)
+        return favoriteRepository.findWithPlaceByUserEmail(userEmail)
                 .stream()
                 .map(fav -> new FavoriteDTO(
                         fav.getPlace().getId(),
                         fav.getPlace().getTitle(),
                         fav.getPlace().getCity(),
-                        fav.getPlace().getMainImage()
+                        fav.getPlace().getCoverImage(),
+                        fav.getPlace().getCardImage()
                 ))
                 .toList();
     }
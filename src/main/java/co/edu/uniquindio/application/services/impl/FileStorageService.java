@@ -1,31 +1,80 @@
 package co.edu.uniquindio.application.services.impl;
 
 import co.edu.uniquindio.application.exceptions.ValidationException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
 
+/**
+ * Almacén local direccionado por contenido: cada archivo se guarda como
+ * uploads/ab/cd/&lt;sha256&gt;.ext, de modo que el mismo contenido subido varias
+ * veces ocupa disco una sola vez y su URL nunca cambia de contenido.
+ * Los documentos privados (documentos legales) van a files.private-dir, fuera del árbol que
+ * sirve /uploads/**, en una carpeta por propietario; solo se leen con resolvePrivateFile.
+ */
 @Service
 public class FileStorageService {
     private final Path fileStorageLocation;
+    private final Path privateStorageLocation;
 
-    public FileStorageService() {
-        this.fileStorageLocation = Paths.get("uploads").toAbsolutePath().normalize();
+    public FileStorageService(@Value("${files.upload-dir:uploads}") String uploadDir,
+                              @Value("${files.private-dir:private-uploads}") String privateDir) {
+        this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.privateStorageLocation = Paths.get(privateDir).toAbsolutePath().normalize();
 
         try {
-            Files.createDirectories(this.fileStorageLocation);
+            // Los temporales viven dentro del mismo volumen para que el move final sea atómico
+            Files.createDirectories(tempLocation(this.fileStorageLocation));
+            Files.createDirectories(tempLocation(this.privateStorageLocation));
         } catch (Exception ex) {
             throw new RuntimeException("No se pudo crear el directorio de uploads", ex);
         }
     }
 
     public String storeFile(MultipartFile file, String userId) {
+        return "/uploads/" + store(file, fileStorageLocation, null);
+    }
+
+    /**
+     * Guarda el archivo en el almacenamiento privado, en la carpeta del propietario.
+     * Devuelve el nombre del archivo dentro de esa carpeta (&lt;sha256&gt;.ext).
+     */
+    public String storePrivateFile(MultipartFile file, String ownerId) {
+        String relativePath = store(file, privateStorageLocation, ownerId);
+        return relativePath.substring(relativePath.lastIndexOf('/') + 1);
+    }
+
+    public Optional<Path> resolvePrivateFile(String ownerId, String fileName) {
+        return resolve(privateStorageLocation, ownerId + "/" + fileName);
+    }
+
+    public void deletePrivateFile(String ownerId, String fileName) throws IOException {
+        Optional<Path> file = resolvePrivateFile(ownerId, fileName);
+        if (file.isPresent()) {
+            Files.deleteIfExists(file.get());
+        }
+    }
+
+    /**
+     * Copia el archivo a root y devuelve su ruta relativa: ab/cd/&lt;sha256&gt;.ext, o
+     * &lt;ownerDir&gt;/&lt;sha256&gt;.ext si se indica una carpeta de propietario.
+     */
+    private String store(MultipartFile file, Path root, String ownerDir) {
         try {
             // Validar archivo
             if (file.isEmpty()) {
@@ -38,28 +87,85 @@ public class FileStorageService {
                 throw new ValidationException("Solo se permiten archivos de imagen");
             }
 
-            // Generar nombre único
             @SuppressWarnings("null")
             String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
             String fileExtension = getFileExtension(originalFileName);
-            String fileName = userId + "_" + System.currentTimeMillis() + fileExtension;
 
-            // Guardar archivo
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            // Copiar al temporal calculando el SHA-256 mientras se escribe (sin cargar el archivo en memoria)
+            Path tempFile = Files.createTempFile(tempLocation(root), "upload-", ".part");
+            String hash;
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                try (InputStream in = file.getInputStream();
+                     OutputStream out = new DigestOutputStream(Files.newOutputStream(tempFile), digest)) {
+                    in.transferTo(out);
+                }
+                hash = HexFormat.of().formatHex(digest.digest());
 
-            // Devolver URL relativa o absoluta
-            return "/uploads/" + fileName;
+                String directory = ownerDir != null ? ownerDir : hash.substring(0, 2) + "/" + hash.substring(2, 4);
+                String relativePath = directory + "/" + hash + fileExtension;
+                Path targetLocation = root.resolve(relativePath).normalize();
+                if (!targetLocation.startsWith(root)) {
+                    throw new ValidationException("Ruta de archivo inválida");
+                }
+
+                // Si el contenido ya existe no se vuelve a escribir
+                if (!Files.exists(targetLocation)) {
+                    Files.createDirectories(targetLocation.getParent());
+                    try {
+                        Files.move(tempFile, targetLocation, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (FileAlreadyExistsException ignored) {
+                        // Otra petición guardó el mismo contenido al mismo tiempo
+                    }
+                }
+
+                return relativePath;
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
 
         } catch (IOException ex) {
             throw new RuntimeException("Error al guardar el archivo: " + ex.getMessage(), ex);
         } catch (ValidationException e) {
             throw new RuntimeException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 
+    /**
+     * Resuelve una ruta relativa a uploads/ a un archivo existente, rechazando rutas que salgan del directorio
+     * o apunten a archivos ocultos/temporales.
+     */
+    public Optional<Path> resolveFile(String relativePath) {
+        return resolve(fileStorageLocation, relativePath);
+    }
+
+    private Optional<Path> resolve(Path root, String relativePath) {
+        if (relativePath == null || relativePath.isBlank()) {
+            return Optional.empty();
+        }
+
+        Path path = root.resolve(relativePath).normalize();
+        if (!path.startsWith(root) || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        for (Path segment : root.relativize(path)) {
+            if (segment.toString().startsWith(".")) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(path);
+    }
+
+    private Path tempLocation(Path root) {
+        return root.resolve(".tmp");
+    }
+
     private String getFileExtension(String fileName) {
-        return fileName.lastIndexOf(".") > 0 ?
-                fileName.substring(fileName.lastIndexOf(".")) : ".jpg";
+        String extension = fileName.lastIndexOf(".") > 0 ?
+                fileName.substring(fileName.lastIndexOf(".")).toLowerCase() : ".jpg";
+        // La extensión forma parte de la ruta, así que solo se aceptan extensiones simples
+        return extension.matches("\\.[a-z0-9]{1,5}") ? extension : ".jpg";
     }
 }
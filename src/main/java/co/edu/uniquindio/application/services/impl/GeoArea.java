@@ -0,0 +1,77 @@
+package co.edu.uniquindio.application.services.impl;
+
+/**
+ * Área de una búsqueda geográfica. El rectángulo (south, west, north, east) se filtra en SQL con
+ * comparaciones de rango sobre latitud/longitud; si west &gt; east el rectángulo cruza el antimeridiano.
+ * Para las búsquedas por radio el rectángulo lo contiene y la distancia exacta se comprueba en memoria
+ * (contains), sin trigonometría en SQL. PlaceGeoIndex usa el mismo rectángulo para elegir sus celdas.
+ */
+record GeoArea(double south, double west, double north, double east,
+               Double centerLatitude, Double centerLongitude, Double radiusKm) {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = 111.32;
+
+    static GeoArea box(double south, double west, double north, double east) {
+        return new GeoArea(south, west, north, east, null, null, null);
+    }
+
+    static GeoArea radius(double latitude, double longitude, double radiusKm) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double south = Math.max(-90, latitude - latDelta);
+        double north = Math.min(90, latitude + latDelta);
+
+        // Los grados de longitud se acortan hacia los polos: se usa la latitud del borde más cercano al polo
+        double cosLat = Math.cos(Math.toRadians(Math.max(Math.abs(south), Math.abs(north))));
+        double lonDelta = cosLat < 1e-9 ? 180 : radiusKm / (KM_PER_DEGREE * cosLat);
+        if (lonDelta >= 180) {
+            return new GeoArea(south, -180, north, 180, latitude, longitude, radiusKm);
+        }
+        return new GeoArea(south, normalizeLongitude(longitude - lonDelta), north, normalizeLongitude(longitude + lonDelta),
+                latitude, longitude, radiusKm);
+    }
+
+    boolean isRadius() {
+        return radiusKm != null;
+    }
+
+    boolean crossesAntimeridian() {
+        return west > east;
+    }
+
+    /**
+     * Comprobación exacta de un punto: dentro del rectángulo y, si es una búsqueda por radio, a la distancia pedida.
+     */
+    boolean contains(double latitude, double longitude) {
+        if (latitude < south || latitude > north) {
+            return false;
+        }
+        boolean inLongitude = crossesAntimeridian()
+                ? longitude >= west || longitude <= east
+                : longitude >= west && longitude <= east;
+        if (!inLongitude) {
+            return false;
+        }
+        return !isRadius() || distanceKm(centerLatitude, centerLongitude, latitude, longitude) <= radiusKm;
+    }
+
+    private static double normalizeLongitude(double longitude) {
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        if (longitude > 180) {
+            return longitude - 360;
+        }
+        return longitude;
+    }
+
+    // Haversine
+    private static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -1,44 +1,148 @@
 package co.edu.uniquindio.application.services.impl;
 
+import co.edu.uniquindio.application.dto.place.UploadedImageDTO;
+import co.edu.uniquindio.application.exceptions.ValidationException;
 import co.edu.uniquindio.application.services.ImageService;
+import co.edu.uniquindio.application.services.ImageStore;
+import co.edu.uniquindio.application.services.ImageStore.StoredImage;
+import co.edu.uniquindio.application.services.impl.ImageVariantGenerator.Variant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
+@Slf4j
 @Service
 public class ImageServiceImpl implements ImageService {
 
-    private final Cloudinary cloudinary;
+    private final ImageStore imageStore;
+    private final ImageVariantGenerator variantGenerator;
+    private final int maxConcurrentUploads;
 
-    public ImageServiceImpl() {
-        cloudinary = new Cloudinary(ObjectUtils.asMap(
-            "cloud_name", "TU_CLOUD_NAME",
-            "api_key", "TU_API_KEY",
-            "api_secret", "TU_API_SECRET"
-        ));
+    public ImageServiceImpl(ImageStore imageStore,
+                            ImageVariantGenerator variantGenerator,
+                            @Value("${images.upload.max-concurrency:4}") int maxConcurrentUploads) {
+        this.imageStore = imageStore;
+        this.variantGenerator = variantGenerator;
+        this.maxConcurrentUploads = Math.max(1, maxConcurrentUploads);
     }
 
+    /**
+     * Sube las imágenes en paralelo (hilos virtuales, como máximo maxConcurrentUploads a la vez por petición)
+     * junto con sus variantes redimensionadas, y conserva el orden recibido. Solo se aceptan imágenes legibles por ImageIO
+     * y dentro de images.variants.max-pixels. Si alguna falla, se eliminan
+     * todos los archivos que sí se subieron.
+     */
     @Override
-    public List<String> uploadImages(List<MultipartFile> files) throws Exception {
-        List<String> urls = new ArrayList<>();
-        for (MultipartFile file : files) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.emptyMap());
-            urls.add(uploadResult.get("secure_url").toString());
+    public List<UploadedImageDTO> uploadImages(List<MultipartFile> files) throws Exception {
+        Semaphore permits = new Semaphore(maxConcurrentUploads);
+        Queue<String> storedIds = new ConcurrentLinkedQueue<>();
+        List<Future<UploadedImageDTO>> futures = new ArrayList<>(files.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (MultipartFile file : files) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return storeWithVariants(file, storedIds);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<UploadedImageDTO> uploaded = new ArrayList<>(files.size());
+        Exception failure = null;
+        for (Future<UploadedImageDTO> future : futures) {
+            try {
+                uploaded.add(future.get());
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
         }
-        return urls;
+
+        if (failure != null) {
+            rollback(storedIds);
+            throw failure;
+        }
+
+        return uploaded;
+    }
+
+    /**
+     * Elimina del almacenamiento las imágenes subidas y sus variantes, por ejemplo cuando el alojamiento
+     * que las iba a usar no se pudo guardar.
+     */
+    @Override
+    public void deleteImages(List<UploadedImageDTO> images) {
+        rollback(images.stream().flatMap(image -> image.storedIds().stream()).toList());
     }
 
     @Override
     public String uploadDocument(MultipartFile file) throws Exception {
-        @SuppressWarnings("unchecked")
-        Map<String, Object> uploadResult = cloudinary.uploader().upload(file.getBytes(), 
-            ObjectUtils.asMap("resource_type", "auto", "folder", "legal_documents"));
-        return uploadResult.get("secure_url").toString();
+        return store(file, "legal_documents").url();
+    }
+
+    private UploadedImageDTO storeWithVariants(MultipartFile file, Queue<String> storedIds) throws Exception {
+        // Se valida y redimensiona antes de guardar nada: una imagen rechazada no deja archivos
+        Map<Variant, byte[]> variants = generateVariants(file);
+
+        StoredImage original = store(file, null);
+        storedIds.add(original.id());
+        List<String> imageIds = new ArrayList<>();
+        imageIds.add(original.id());
+
+        Map<Variant, String> urls = new EnumMap<>(Variant.class);
+        for (Map.Entry<Variant, byte[]> entry : variants.entrySet()) {
+            StoredImage variant = imageStore.storeVariant(original.id(), entry.getKey().suffix(),
+                    new ByteArrayInputStream(entry.getValue()));
+            storedIds.add(variant.id());
+            imageIds.add(variant.id());
+            urls.put(entry.getKey(), variant.url());
+        }
+
+        return new UploadedImageDTO(original.url(), urls.get(Variant.THUMB), urls.get(Variant.CARD),
+                urls.get(Variant.DETAIL), imageIds);
+    }
+
+    private Map<Variant, byte[]> generateVariants(MultipartFile file) throws IOException, ValidationException {
+        try (InputStream content = file.getInputStream()) {
+            return variantGenerator.generate(content);
+        }
+    }
+
+    private StoredImage store(MultipartFile file, String folder) throws Exception {
+        try (InputStream content = file.getInputStream()) {
+            return imageStore.store(content, file.getOriginalFilename(), folder);
+        }
+    }
+
+    private void rollback(Collection<String> storedIds) {
+        for (String id : storedIds) {
+            try {
+                imageStore.delete(id);
+            } catch (Exception e) {
+                log.warn("No se pudo eliminar la imagen {} tras un fallo en la subida", id, e);
+            }
+        }
     }
 }
@@ -0,0 +1,192 @@
+package co.edu.uniquindio.application.services.impl;
+
+import co.edu.uniquindio.application.exceptions.ValidationException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Valida una imagen subida y genera sus versiones redimensionadas (miniatura, tarjeta de listado y detalle).
+ * Las dimensiones se leen de la cabecera antes de decodificar, así una imagen pequeña en bytes pero enorme
+ * en píxeles (bomba de descompresión) se rechaza sin reservar memoria, y se decodifica con submuestreo
+ * a no más del doble de la variante más grande.
+ * El redimensionado corre en un pool acotado; si el pool está saturado, el hilo
+ * que sube la imagen hace el trabajo (CallerRunsPolicy), lo que frena la subida en vez de fallar.
+ */
+@Slf4j
+@Service
+public class ImageVariantGenerator {
+
+    public enum Variant {
+        THUMB(320),
+        CARD(640),
+        DETAIL(1280);
+
+        private final int maxWidth;
+
+        Variant(int maxWidth) {
+            this.maxWidth = maxWidth;
+        }
+
+        public int getMaxWidth() {
+            return maxWidth;
+        }
+
+        public String suffix() {
+            return name().toLowerCase();
+        }
+    }
+
+    private static final int MAX_VARIANT_WIDTH = maxVariantWidth();
+
+    private final ThreadPoolExecutor executor;
+    private final float jpegQuality;
+    private final long maxPixels;
+
+    public ImageVariantGenerator(@Value("${images.variants.threads:0}") int threads,
+                                 @Value("${images.variants.queue-capacity:100}") int queueCapacity,
+                                 @Value("${images.variants.jpeg-quality:0.8}") float jpegQuality,
+                                 @Value("${images.variants.max-pixels:40000000}") long maxPixels) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("image-variant-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+    }
+
+    /**
+     * Devuelve los bytes JPEG de cada variante. Rechaza con ValidationException lo que no sea una imagen
+     * legible o supere images.variants.max-pixels.
+     */
+    public Map<Variant, byte[]> generate(InputStream source) throws IOException, ValidationException {
+        BufferedImage original = decode(source);
+
+        Map<Variant, Future<byte[]>> futures = new EnumMap<>(Variant.class);
+        for (Variant variant : Variant.values()) {
+            futures.put(variant, executor.submit(() -> encodeJpeg(resize(original, variant.getMaxWidth()))));
+        }
+
+        Map<Variant, byte[]> variants = new EnumMap<>(Variant.class);
+        for (Map.Entry<Variant, Future<byte[]>> entry : futures.entrySet()) {
+            try {
+                variants.put(entry.getKey(), entry.getValue().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Generación de variantes interrumpida", e);
+            } catch (ExecutionException e) {
+                throw new IOException("No se pudo generar la variante " + entry.getKey().suffix(), e.getCause());
+            }
+        }
+        return variants;
+    }
+
+    private BufferedImage decode(InputStream source) throws IOException, ValidationException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new ValidationException("El archivo no es una imagen válida");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width <= 0 || height <= 0 || (long) width * height > maxPixels) {
+                    throw new ValidationException("La imagen supera el máximo de " + maxPixels + " píxeles");
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, width / (MAX_VARIANT_WIDTH * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } catch (IIOException e) {
+                throw new ValidationException("La imagen está dañada o no se puede leer");
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static int maxVariantWidth() {
+        int max = 0;
+        for (Variant variant : Variant.values()) {
+            max = Math.max(max, variant.getMaxWidth());
+        }
+        return max;
+    }
+
+    private BufferedImage resize(BufferedImage source, int maxWidth) {
+        int width = Math.min(source.getWidth(), maxWidth);
+        int height = Math.max(1, Math.round(source.getHeight() * (width / (float) source.getWidth())));
+
+        // JPEG no tiene canal alfa: se pinta sobre fondo blanco
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (MemoryCacheImageOutputStream output = new MemoryCacheImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,73 @@
+package co.edu.uniquindio.application.services.impl;
+
+import co.edu.uniquindio.application.services.ImageStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+/**
+ * Guarda las imágenes en disco; sustituto de Cloudinary para desarrollo y pruebas.
+ */
+@Service
+@ConditionalOnProperty(name = "images.store", havingValue = "local")
+public class LocalImageStore implements ImageStore {
+
+    private final Path baseDir;
+    private final String baseUrl;
+
+    public LocalImageStore(@Value("${images.local.dir:uploads/images}") String dir,
+                           @Value("${images.local.base-url:/uploads/images}") String baseUrl) {
+        this.baseDir = Paths.get(dir).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl;
+
+        try {
+            Files.createDirectories(this.baseDir);
+        } catch (IOException ex) {
+            throw new RuntimeException("No se pudo crear el directorio de imágenes", ex);
+        }
+    }
+
+    @Override
+    public StoredImage store(InputStream content, String originalFilename, String folder) throws IOException {
+        String extension = StringUtils.getFilenameExtension(originalFilename);
+        String id = (folder == null ? "" : folder + "/") + UUID.randomUUID() + (extension == null ? "" : "." + extension);
+
+        Path target = resolve(id);
+        Files.createDirectories(target.getParent());
+        Files.copy(content, target);
+
+        return new StoredImage(id, baseUrl + "/" + id);
+    }
+
+    @Override
+    public StoredImage storeVariant(String originalId, String variant, InputStream content) throws IOException {
+        String extension = StringUtils.getFilenameExtension(originalId);
+        String base = extension == null ? originalId : originalId.substring(0, originalId.length() - extension.length() - 1);
+        String id = base + "_" + variant + ".jpg";
+
+        Files.copy(content, resolve(id), StandardCopyOption.REPLACE_EXISTING);
+        return new StoredImage(id, baseUrl + "/" + id);
+    }
+
+    @Override
+    public void delete(String id) throws IOException {
+        Files.deleteIfExists(resolve(id));
+    }
+
+    private Path resolve(String id) throws IOException {
+        Path path = baseDir.resolve(id).normalize();
+        if (!path.startsWith(baseDir)) {
+            throw new IOException("Ruta de imagen inválida: " + id);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,89 @@
+package co.edu.uniquindio.application.services.impl;
+
+import co.edu.uniquindio.application.exceptions.ServiceBusyException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ejecuta el hash BCrypt (CPU intensivo) en un pool propio y acotado, para que una
+ * ráfaga de logins no consuma todos los hilos/CPU que usan búsqueda y reservas.
+ * Si la cola está llena se rechaza de inmediato con ServiceBusyException (503).
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${security.password-hashing.threads:0}") int threads,
+                                  @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        log.info("Pool de hash de contraseñas: {} hilos, cola de {}", poolSize, queueCapacity);
+    }
+
+    public String encode(String rawPassword) throws ServiceBusyException {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) throws ServiceBusyException {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Indica si el hash guardado se hizo con un costo menor al configurado y debe recalcularse.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Callable<T> task) throws ServiceBusyException {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Cola de hash de contraseñas llena ({} en espera)", executor.getQueue().size());
+            throw new ServiceBusyException("El servidor está ocupado, intenta de nuevo en unos segundos");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hash de contraseña interrumpido", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Error al procesar la contraseña", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,5 +1,6 @@
 package co.edu.uniquindio.application.services.impl;
 
+import co.edu.uniquindio.application.exceptions.ServiceBusyException;
 import co.edu.uniquindio.application.exceptions.ValidationException;
 import co.edu.uniquindio.application.model.entity.PasswordResetCode;
 import co.edu.uniquindio.application.model.entity.User;
@@ -8,7 +9,6 @@ import co.edu.uniquindio.application.repositories.UserRepository;
 import co.edu.uniquindio.application.services.EmailService;
 import co.edu.uniquindio.application.services.PasswordResetService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,7 +23,7 @@ public class PasswordResetServiceImpl implements PasswordResetService {
     private final UserRepository userRepository;
     private final PasswordResetCodeRepository resetCodeRepository;
     private final EmailService emailService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
     private static final int CODE_LENGTH = 6;
     private static final int CODE_EXPIRATION_MINUTES = 15;
@@ -64,7 +64,7 @@ public class PasswordResetServiceImpl implements PasswordResetService {
 
     @Override
     @Transactional
-    public void validateCodeAndResetPassword(String email, String code, String newPassword) throws ValidationException {
+    public void validateCodeAndResetPassword(String email, String code, String newPassword) throws ValidationException, ServiceBusyException {
         // Validar nueva contraseña
         if (!securePassword(newPassword)) {
             throw new ValidationException("La nueva contraseña debe tener al menos 8 caracteres, una mayúscula y un número");
@@ -90,8 +90,8 @@ public class PasswordResetServiceImpl implements PasswordResetService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ValidationException("Usuario no encontrado"));
 
-        // Actualizar contraseña
-        user.setPassword(passwordEncoder.encode(newPassword));
+        // Actualizar contraseña (mismo pool acotado y costo BCrypt que registro y login)
+        user.setPassword(passwordHashingService.encode(newPassword));
         userRepository.save(user);
 
         // Marcar código como usado
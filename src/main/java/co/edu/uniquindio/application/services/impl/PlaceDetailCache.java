@@ -0,0 +1,129 @@
+package co.edu.uniquindio.application.services.impl;
+
+import co.edu.uniquindio.application.dto.place.PlaceDetailDTO;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Caché acotada de PlaceDetailDTO ya armados (Caffeine: admisión W-TinyLFU, límite por peso).
+ * El peso de cada entrada es proporcional a sus comentarios, reservas e imágenes, de modo que
+ * los alojamientos con mucho historial no desplacen a muchos pequeños sin control.
+ *
+ * El loader hace JDBC, así que no corre dentro del compute de Caffeine (un bloque synchronized que fijaría
+ * el hilo virtual a su carrier durante toda la carga): la caché guarda un CompletableFuture, el hilo que no
+ * encontró la entrada carga fuera de cualquier lock y lo completa, y las lecturas concurrentes del mismo
+ * alojamiento esperan ese future (un hilo virtual que espera un future sí suelta su carrier).
+ *
+ * Las invalidaciones se hacen al momento y otra vez después del commit de la transacción que modificó
+ * los datos: así una lectura concurrente que alcanzó a cachear el estado anterior al commit también se
+ * descarta. Si se invalida mientras se carga, el future sale de la caché y su resultado no se guarda.
+ */
+@Slf4j
+@Component
+public class PlaceDetailCache {
+
+    private final AsyncCache<Long, PlaceDetailDTO> cache;
+
+    public PlaceDetailCache(@Value("${places.detail-cache.max-weight:100000}") long maxWeight,
+                            @Value("${places.detail-cache.ttl:PT10M}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Long placeId, PlaceDetailDTO detail) -> weigh(detail))
+                // Red de seguridad por si algún cambio no pasa por los servicios (p. ej. la reconciliación)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        // Aciertos, fallos, desalojos y peso publicados como cache.* con cache=place-detail
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "place-detail");
+    }
+
+    public interface Loader {
+        PlaceDetailDTO load(Long placeId) throws Exception;
+    }
+
+    /**
+     * Devuelve el detalle desde la caché o lo arma con el loader. Las excepciones del loader
+     * (p. ej. NotFoundException) se propagan sin envolver y no se guardan.
+     */
+    public PlaceDetailDTO get(Long placeId, Loader loader) throws Exception {
+        CompletableFuture<PlaceDetailDTO> cached = cache.getIfPresent(placeId);
+        if (cached == null) {
+            CompletableFuture<PlaceDetailDTO> loading = new CompletableFuture<>();
+            cached = cache.asMap().putIfAbsent(placeId, loading);
+            if (cached == null) {
+                return load(placeId, loader, loading);
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private PlaceDetailDTO load(Long placeId, Loader loader, CompletableFuture<PlaceDetailDTO> loading) throws Exception {
+        try {
+            PlaceDetailDTO detail = loader.load(placeId);
+            loading.complete(detail);
+            return detail;
+        } catch (Throwable e) {
+            cache.asMap().remove(placeId, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidate(Long placeId) {
+        if (placeId != null) {
+            cache.synchronous().invalidate(placeId);
+            TransactionHooks.afterCommit(() -> cache.synchronous().invalidate(placeId));
+        }
+    }
+
+    public void invalidateAll() {
+        Cache<Long, PlaceDetailDTO> entries = cache.synchronous();
+        entries.invalidateAll();
+        TransactionHooks.afterCommit(entries::invalidateAll);
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    @Scheduled(fixedDelayString = "${places.detail-cache.stats-log-interval:PT5M}")
+    public void logStats() {
+        CacheStats stats = stats();
+        log.info("Caché de detalle: {} entradas, hits={}, misses={}, hitRate={}, evictions={}",
+                size(), stats.hitCount(), stats.missCount(),
+                String.format("%.3f", stats.hitRate()), stats.evictionCount());
+    }
+
+    private static int weigh(PlaceDetailDTO detail) {
+        int weight = 1;
+        if (detail.comments() != null) weight += detail.comments().size();
+        if (detail.availability() != null) weight += detail.availability().size();
+        if (detail.images() != null) weight += detail.images().size();
+        if (detail.detailImages() != null) weight += detail.detailImages().size();
+        return weight;
+    }
+}
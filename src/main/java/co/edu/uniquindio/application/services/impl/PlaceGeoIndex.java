@@ -0,0 +1,195 @@
+package co.edu.uniquindio.application.services.impl;
+
+import co.edu.uniquindio.application.dto.place.PlaceLocationDTO;
+import co.edu.uniquindio.application.repositories.PlaceRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice espacial en memoria (rejilla de celdas lat/lon) con la ubicación de los alojamientos ACTIVE.
+ * Responde búsquedas por radio o por rectángulo del mapa revisando solo las celdas que tocan el área,
+ * sin recorrer la tabla ni calcular trigonometría en SQL. Sus candidatos se cruzan en memoria con los
+ * de la consulta de búsqueda, igual que la disponibilidad: nunca se envían como lista IN.
+ *
+ * Los cambios se aplican de inmediato y se deshacen si la transacción hace rollback; mientras tanto el
+ * índice puede contener un alojamiento aún no confirmado, lo cual es inofensivo porque la consulta de
+ * búsqueda sigue filtrando contra la base de datos.
+ */
+@Slf4j
+@Component
+public class PlaceGeoIndex {
+
+    private final PlaceRepository placeRepository;
+    private final double cellDegrees;
+    private final long lonCells;
+
+    private final Map<Long, Set<Long>> cells = new HashMap<>();
+    private final Map<Long, PlaceLocationDTO> locations = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public PlaceGeoIndex(PlaceRepository placeRepository,
+                         @Value("${places.geo.cell-degrees:0.1}") double cellDegrees) {
+        this.placeRepository = placeRepository;
+        this.cellDegrees = cellDegrees;
+        this.lonCells = (long) Math.ceil(360 / cellDegrees) + 1;
+    }
+
+    @PostConstruct
+    public void load() {
+        long start = System.currentTimeMillis();
+        List<PlaceLocationDTO> active = placeRepository.findActiveLocations();
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            locations.clear();
+            active.forEach(this::putUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice geográfico cargado: {} alojamientos en {} celdas ({} ms)",
+                active.size(), cells.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Registra o mueve un alojamiento.
+     */
+    public void upsert(Long placeId, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            remove(placeId);
+            return;
+        }
+        PlaceLocationDTO previous = put(new PlaceLocationDTO(placeId, latitude, longitude));
+        TransactionHooks.onRollback(() -> restore(placeId, previous));
+    }
+
+    /**
+     * Quita un alojamiento (eliminado o inactivo).
+     */
+    public void remove(Long placeId) {
+        PlaceLocationDTO previous = delete(placeId);
+        TransactionHooks.onRollback(() -> restore(placeId, previous));
+    }
+
+    /**
+     * Ids de los alojamientos dentro del área, con la comprobación exacta de GeoArea (radio incluido).
+     */
+    Set<Long> find(GeoArea area) {
+        List<double[]> lonRanges = area.crossesAntimeridian()
+                ? List.of(new double[]{area.west(), 180}, new double[]{-180, area.east()})
+                : List.of(new double[]{area.west(), area.east()});
+
+        Set<Long> result = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            long latFrom = latIndex(area.south());
+            long latTo = latIndex(area.north());
+
+            long cellsInArea = 0;
+            for (double[] range : lonRanges) {
+                cellsInArea += (latTo - latFrom + 1) * (lonIndex(range[1]) - lonIndex(range[0]) + 1);
+            }
+
+            // Si el área cubre más celdas de las que hay ocupadas, es más barato recorrer las ocupadas
+            if (cellsInArea > cells.size()) {
+                for (PlaceLocationDTO location : locations.values()) {
+                    if (area.contains(location.latitude(), location.longitude())) {
+                        result.add(location.placeId());
+                    }
+                }
+                return result;
+            }
+
+            for (double[] range : lonRanges) {
+                long lonFrom = lonIndex(range[0]);
+                long lonTo = lonIndex(range[1]);
+                for (long lat = latFrom; lat <= latTo; lat++) {
+                    for (long lon = lonFrom; lon <= lonTo; lon++) {
+                        Set<Long> placeIds = cells.get(lat * lonCells + lon);
+                        if (placeIds == null) {
+                            continue;
+                        }
+                        for (Long placeId : placeIds) {
+                            PlaceLocationDTO location = locations.get(placeId);
+                            if (area.contains(location.latitude(), location.longitude())) {
+                                result.add(placeId);
+                            }
+                        }
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PlaceLocationDTO put(PlaceLocationDTO location) {
+        lock.writeLock().lock();
+        try {
+            return putUnlocked(location);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private PlaceLocationDTO putUnlocked(PlaceLocationDTO location) {
+        PlaceLocationDTO previous = removeUnlocked(location.placeId());
+        locations.put(location.placeId(), location);
+        cells.computeIfAbsent(cellKey(location), key -> new HashSet<>()).add(location.placeId());
+        return previous;
+    }
+
+    private PlaceLocationDTO delete(Long placeId) {
+        lock.writeLock().lock();
+        try {
+            return removeUnlocked(placeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private PlaceLocationDTO removeUnlocked(Long placeId) {
+        PlaceLocationDTO previous = locations.remove(placeId);
+        if (previous != null) {
+            long key = cellKey(previous);
+            Set<Long> placeIds = cells.get(key);
+            if (placeIds != null) {
+                placeIds.remove(placeId);
+                if (placeIds.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+        return previous;
+    }
+
+    private void restore(Long placeId, PlaceLocationDTO previous) {
+        if (previous != null) {
+            put(previous);
+        } else {
+            delete(placeId);
+        }
+    }
+
+    private long cellKey(PlaceLocationDTO location) {
+        return latIndex(location.latitude()) * lonCells + lonIndex(location.longitude());
+    }
+
+    private long latIndex(double latitude) {
+        return (long) Math.floor((Math.max(-90, Math.min(90, latitude)) + 90) / cellDegrees);
+    }
+
+    private long lonIndex(double longitude) {
+        return (long) Math.floor((Math.max(-180, Math.min(180, longitude)) + 180) / cellDegrees);
+    }
+}
@@ -0,0 +1,48 @@
+package co.edu.uniquindio.application.services.impl;
+
+import co.edu.uniquindio.application.repositories.PlaceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Recalcula ratingSum/ratingCount de los alojamientos a partir de los comentarios.
+ * Corre cada noche (places.rating.reconcile-cron) por si algún comentario se creó o borró fuera de
+ * CommentServiceImpl. El UPDATE recorre toda la tabla, así que el backfill al arrancar (datos anteriores
+ * al agregado) es opcional y va apagado: se enciende una sola vez con places.rating.backfill-on-startup=true.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PlaceRatingReconciler {
+
+    private final PlaceRepository placeRepository;
+    private final PlaceDetailCache placeDetailCache;
+
+    @Value("${places.rating.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (backfillOnStartup) {
+            reconcile();
+        }
+    }
+
+    @Transactional
+    @Scheduled(cron = "${places.rating.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        int updated = placeRepository.reconcileRatings();
+        if (updated > 0) {
+            placeDetailCache.invalidateAll();
+        }
+        log.info("Calificaciones reconciliadas en {} alojamientos ({} ms)", updated, System.currentTimeMillis() - start);
+    }
+}
@@ -6,7 +6,6 @@ import co.edu.uniquindio.application.exceptions.NotFoundException;
 import co.edu.uniquindio.application.exceptions.ValidationException;
 import co.edu.uniquindio.application.model.entity.Place;
 import co.edu.uniquindio.application.model.entity.User;
-import co.edu.uniquindio.application.model.enums.BookingStatus;
 import co.edu.uniquindio.application.repositories.BookingRepository;
 import co.edu.uniquindio.application.repositories.CommentRepository;
 import co.edu.uniquindio.application.repositories.PlaceRepository;
@@ -15,10 +14,19 @@ import co.edu.uniquindio.application.services.ImageService;
 import co.edu.uniquindio.application.services.PlaceService;
 import lombok.RequiredArgsConstructor;
 import co.edu.uniquindio.application.model.enums.Service;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @org.springframework.stereotype.Service
@@ -30,23 +38,60 @@ public class PlaceServiceImpl implements PlaceService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ImageService imageService;
+    private final AvailabilityIndex availabilityIndex;
+    private final PlaceGeoIndex placeGeoIndex;
+    private final CityAutocompleteIndex cityAutocompleteIndex;
+    private final PlaceDetailCache placeDetailCache;
+
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 50;
+    // Candidatos leídos por lote cuando la página se filtra en memoria (disponibilidad, radio)
+    private static final int SEARCH_OVERFETCH = 2;
+    private static final int MAX_SEARCH_BATCH = 100;
+    private static final int MAX_AUTOCOMPLETE_LIMIT = 20;
+    private static final int DETAIL_COMMENTS = 5;
+    private static final int DETAIL_AVAILABILITY_DAYS = 90;
+    private static final int MAX_AVAILABILITY_DAYS = 366;
 
     @Override
     public Long create(CreatePlaceDTO placeDTO, String hostEmail) throws Exception {
-        List<String> finalImages = new ArrayList<>();
+        if (placeDTO.imageUrls() != null && placeDTO.imageUrls().size() > 10) {
+            throw new ValidationException("Máximo 10 imágenes permitidas");
+        }
 
+        List<UploadedImageDTO> uploadedImages = List.of();
         if (placeDTO.imageFiles() != null && !placeDTO.imageFiles().isEmpty()) {
             if (placeDTO.imageFiles().size() > 10) {
                 throw new ValidationException("Máximo 10 imágenes permitidas");
             }
-            List<String> uploadedUrls = imageService.uploadImages(placeDTO.imageFiles());
-            finalImages.addAll(uploadedUrls);
+            uploadedImages = imageService.uploadImages(placeDTO.imageFiles());
         }
 
-        if (placeDTO.imageUrls() != null && !placeDTO.imageUrls().isEmpty()) {
-            if (placeDTO.imageUrls().size() > 10) {
-                throw new ValidationException("Máximo 10 imágenes permitidas");
+        try {
+            Long placeId = savePlace(placeDTO, hostEmail, uploadedImages);
+            // Si una transacción externa se revierte, las imágenes tampoco deben quedar en el almacenamiento
+            List<UploadedImageDTO> stored = uploadedImages;
+            TransactionHooks.onRollback(() -> imageService.deleteImages(stored));
+            return placeId;
+        } catch (Exception e) {
+            imageService.deleteImages(uploadedImages);
+            throw e;
+        }
+    }
+
+    private Long savePlace(CreatePlaceDTO placeDTO, String hostEmail, List<UploadedImageDTO> uploadedImages) throws Exception {
+        List<String> finalImages = new ArrayList<>();
+        Map<String, String> detailImages = new HashMap<>();
+        for (UploadedImageDTO image : uploadedImages) {
+            finalImages.add(image.url());
+            if (image.detailUrl() != null) {
+                detailImages.put(image.url(), image.detailUrl());
             }
+        }
+        String coverThumbnail = uploadedImages.isEmpty() ? null : uploadedImages.get(0).thumbnailUrl();
+        String coverCard = uploadedImages.isEmpty() ? null : uploadedImages.get(0).cardUrl();
+
+        if (placeDTO.imageUrls() != null) {
             finalImages.addAll(placeDTO.imageUrls());
         }
 
@@ -63,6 +108,9 @@ public class PlaceServiceImpl implements PlaceService {
         place.setMaxGuests(placeDTO.maxGuests());
         place.setPrice(placeDTO.nightlyPrice());
         place.setImages(finalImages);
+        place.setCoverThumbnail(coverThumbnail);
+        place.setCoverCard(coverCard);
+        place.setDetailImages(detailImages);
         place.setServices(placeDTO.services());
         place.setHost(host);
         place.setStatus(co.edu.uniquindio.application.model.enums.Status.ACTIVE);
@@ -74,6 +122,8 @@ public class PlaceServiceImpl implements PlaceService {
         
         // ✅ GUARDAR Y RETORNAR EL ID
         Place savedPlace = placeRepository.save(place);
+        placeGeoIndex.upsert(savedPlace.getId(), savedPlace.getLatitude(), savedPlace.getLongitude());
+        cityAutocompleteIndex.addPlace(savedPlace.getCity());
         return savedPlace.getId();
     }
 
@@ -93,12 +143,27 @@ public class PlaceServiceImpl implements PlaceService {
         place.setDescription(placeDTO.description());
         place.setMaxGuests(placeDTO.maxGuests());
         place.setPrice(placeDTO.nightlyPrice());
+        // La miniatura y la tarjeta solo siguen siendo válidas si la imagen principal no cambió
+        String previousMainImage = place.getMainImage();
         place.setImages(placeDTO.images());
+        if (!Objects.equals(previousMainImage, place.getMainImage())) {
+            place.setCoverThumbnail(null);
+            place.setCoverCard(null);
+        }
+        // Se descartan las variantes de detalle de las imágenes que ya no están
+        if (place.getDetailImages() != null && placeDTO.images() != null) {
+            place.getDetailImages().keySet().retainAll(placeDTO.images());
+        }
         place.setServices(placeDTO.services());
 
         place.setLatitude(placeDTO.latitude());
         place.setLongitude(placeDTO.longitude());
         placeRepository.save(place);
+        // El índice solo contiene alojamientos activos
+        if (place.getStatus() == co.edu.uniquindio.application.model.enums.Status.ACTIVE) {
+            placeGeoIndex.upsert(place.getId(), place.getLatitude(), place.getLongitude());
+        }
+        placeDetailCache.invalidate(place.getId());
     }
 
     @Override
@@ -122,8 +187,14 @@ public class PlaceServiceImpl implements PlaceService {
         }
 
         // Soft delete: cambiar estado a ELIMINATED
+        boolean wasActive = place.getStatus() == co.edu.uniquindio.application.model.enums.Status.ACTIVE;
         place.setStatus(co.edu.uniquindio.application.model.enums.Status.ELIMINATED);
         placeRepository.save(place);
+        placeGeoIndex.remove(place.getId());
+        placeDetailCache.invalidate(place.getId());
+        if (wasActive) {
+            cityAutocompleteIndex.removePlace(place.getCity());
+        }
     }
 
     @Override
@@ -147,23 +218,15 @@ public class PlaceServiceImpl implements PlaceService {
         List<Place> places = placeRepository.findByHostEmailAndActiveStatus(hostEmail);
         
         return places.stream()
-            .map(place -> {
-                // Calcular rating promedio
-                Double averageRating = commentRepository.averageRatingByPlaceAndDates(
-                    place.getId(),
-                    LocalDateTime.MIN,
-                    LocalDateTime.MAX
-                );
-                
-                return new ItemPlaceDTO(
-                    place.getId(),
-                    place.getTitle(),
-                    place.getCity(),
-                    place.getPrice(),
-                    averageRating != null ? averageRating.floatValue() : 0f,
-                    place.getMainImage()
-                );
-            })
+            .map(place -> new ItemPlaceDTO(
+                place.getId(),
+                place.getTitle(),
+                place.getCity(),
+                place.getPrice(),
+                place.getRating() != null ? place.getRating().floatValue() : 0f,
+                place.getCoverImage(),
+                place.getCardImage()
+            ))
             .collect(Collectors.toList());
     }
 
@@ -176,62 +239,159 @@ public class PlaceServiceImpl implements PlaceService {
                 .collect(Collectors.toList());
         }
 
-        List<Place> places = placeRepository.searchAvailablePlaces(
+        int pageSize = searchDTO.size() == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(searchDTO.size(), 1), MAX_PAGE_SIZE);
+
+        // El rectángulo del área se filtra en SQL; el área exacta sale del índice espacial y, como la disponibilidad,
+        // se cruza en memoria con los candidatos. Si no hay alojamientos en el área no se consulta la base
+        GeoArea area = geoArea(searchDTO);
+        Set<Long> geoPlaceIds = area != null ? placeGeoIndex.find(area) : null;
+        if (geoPlaceIds != null && geoPlaceIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Service> services = serviceEnums;
+        SearchQuery query = (lastPrice, lastId, pageable) -> placeRepository.searchAvailablePlaces(
             searchDTO.city(),
-            searchDTO.checkIn(),
-            searchDTO.checkOut(),
             searchDTO.minPrice(),
             searchDTO.maxPrice(),
-            serviceEnums,
-            BookingStatus.CONFIRMED 
+            services,
+            area != null ? area.south() : null,
+            area != null ? area.west() : null,
+            area != null ? area.north() : null,
+            area != null ? area.east() : null,
+            searchDTO.minRating(),
+            lastPrice,
+            lastId,
+            pageable
         );
 
-        int page = searchDTO.page();
-        int pageSize = 10;
-        int fromIndex = page * pageSize;
-        int toIndex = Math.min(fromIndex + pageSize, places.size());
+        Predicate<Place> matches = null;
+        if (geoPlaceIds != null) {
+            matches = place -> geoPlaceIds.contains(place.getId());
+        }
+        if (searchDTO.checkIn() != null && searchDTO.checkOut() != null) {
+            LocalDateTime checkIn = searchDTO.checkIn().atStartOfDay();
+            LocalDateTime checkOut = searchDTO.checkOut().atStartOfDay();
+            Predicate<Place> available = place -> availabilityIndex.isAvailable(place.getId(), checkIn, checkOut);
+            matches = matches == null ? available : matches.and(available);
+        }
 
-        return places.subList(fromIndex, toIndex)
-            .stream()
+        List<Place> places;
+        if (matches != null) {
+            places = searchFiltered(query, searchDTO, pageSize, matches);
+        } else {
+            // Con cursor (último precio + id) se pide siempre la primera "página" después del cursor;
+            // sin cursor se mantiene la paginación por número de página
+            Pageable pageable = searchDTO.lastPrice() != null
+                ? PageRequest.of(0, pageSize)
+                : PageRequest.of(Math.max(searchDTO.page(), 0), pageSize);
+            places = query.fetch(searchDTO.lastPrice(), searchDTO.lastId(), pageable).getContent();
+        }
+
+        return places.stream()
             .map(place -> new ItemPlaceDTO(
                 place.getId(),
                 place.getTitle(),
                 place.getCity(),
                 place.getPrice(),
                 place.getRating() != null ? place.getRating().floatValue() : 0f,
-                place.getMainImage()
+                place.getCoverImage(),
+                place.getCardImage()
             ))
             .collect(Collectors.toList());
     }
 
+    private interface SearchQuery {
+        Slice<Place> fetch(Float lastPrice, Long lastId, Pageable pageable);
+    }
+
+    /**
+     * Recorre los candidatos de la consulta en orden (precio, id) por lotes, avanzando con el cursor interno,
+     * hasta llenar la página con los que cumplen el filtro en memoria. Sin cursor del cliente, las páginas
+     * anteriores se saltan contando solo los que cumplen el filtro, para que page siga siendo coherente.
+     */
+    private List<Place> searchFiltered(SearchQuery query, SearchPlaceDTO searchDTO, int pageSize,
+                                       Predicate<Place> matches) {
+        int skip = searchDTO.lastPrice() != null ? 0 : Math.max(searchDTO.page(), 0) * pageSize;
+        Pageable batch = PageRequest.of(0, Math.min(pageSize * SEARCH_OVERFETCH, MAX_SEARCH_BATCH));
+        Float lastPrice = searchDTO.lastPrice();
+        Long lastId = searchDTO.lastId();
+
+        List<Place> page = new ArrayList<>(pageSize);
+        while (true) {
+            Slice<Place> candidates = query.fetch(lastPrice, lastId, batch);
+            for (Place place : candidates.getContent()) {
+                if (!matches.test(place)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                page.add(place);
+                if (page.size() == pageSize) {
+                    return page;
+                }
+            }
+            if (!candidates.hasNext()) {
+                return page;
+            }
+            Place last = candidates.getContent().get(candidates.getNumberOfElements() - 1);
+            lastPrice = last.getPrice();
+            lastId = last.getId();
+        }
+    }
+
+    /**
+     * Área geográfica pedida (radio o rectángulo del mapa), o null si la búsqueda no es geográfica.
+     */
+    private GeoArea geoArea(SearchPlaceDTO searchDTO) throws ValidationException {
+        if (searchDTO.radiusKm() != null) {
+            if (searchDTO.latitude() == null || searchDTO.longitude() == null) {
+                throw new ValidationException("La búsqueda por radio requiere latitud y longitud");
+            }
+            if (searchDTO.radiusKm() <= 0) {
+                throw new ValidationException("El radio debe ser mayor que cero");
+            }
+            return GeoArea.radius(searchDTO.latitude(), searchDTO.longitude(), searchDTO.radiusKm());
+        }
+
+        boolean anyBound = searchDTO.south() != null || searchDTO.west() != null
+            || searchDTO.north() != null || searchDTO.east() != null;
+        if (!anyBound) {
+            return null;
+        }
+        if (searchDTO.south() == null || searchDTO.west() == null || searchDTO.north() == null || searchDTO.east() == null) {
+            throw new ValidationException("El área del mapa requiere south, west, north y east");
+        }
+        if (searchDTO.south() > searchDTO.north()) {
+            throw new ValidationException("south no puede ser mayor que north");
+        }
+        return GeoArea.box(searchDTO.south(), searchDTO.west(), searchDTO.north(), searchDTO.east());
+    }
+
     @Override
     public PlaceDetailDTO getPlaceDetail(Long placeId) throws Exception {
+        return placeDetailCache.get(placeId, this::loadPlaceDetail);
+    }
+
+    private PlaceDetailDTO loadPlaceDetail(Long placeId) throws Exception {
         Place place = placeRepository.findById(placeId)
             .orElseThrow(() -> new NotFoundException("Alojamiento no encontrado"));
 
-        List<CommentDTO> comments = commentRepository.findByPlaceId(placeId).stream()
-            .map(c -> new CommentDTO(
-                c.getId(),
-                c.getAuthor().getName(),
-                c.getRating(),
-                c.getText(),
-                c.getCreatedAt(),
-                c.getHostReply()
-            )).toList();
-
-        List<AvailabilityDTO> availability = bookingRepository.findByPlaceIdAndStatus(
-            placeId, BookingStatus.CONFIRMED
-        ).stream()
-            .map(b -> new AvailabilityDTO(b.getCheckIn(), b.getCheckOut()))
-            .toList();
-
-        Double averageRating = commentRepository.averageRatingByPlaceAndDates(
-        placeId,
-        LocalDateTime.MIN,
-        LocalDateTime.MAX
-    );
-    if (averageRating == null) averageRating = 0.0;
-    
+        // Solo la primera página de comentarios y la disponibilidad de los próximos días:
+        // el tamaño de la respuesta no crece con el historial del alojamiento
+        Slice<CommentDTO> comments = commentRepository.findItemsByPlaceId(
+            placeId, null, null, PageRequest.of(0, DETAIL_COMMENTS)
+        );
+
+        LocalDate today = LocalDate.now();
+        List<AvailabilityDTO> availability = availabilityIndex.findBookedRanges(
+            placeId, today.atStartOfDay(), today.plusDays(DETAIL_AVAILABILITY_DAYS).atStartOfDay()
+        );
+
+        Double averageRating = place.getRating() != null ? place.getRating() : 0.0;
+
         return new PlaceDetailDTO(
             place.getId(),
             place.getTitle(),
@@ -240,21 +400,44 @@ public class PlaceServiceImpl implements PlaceService {
             place.getAddress(),
             place.getPrice(),
             place.getMaxGuests(),
-            place.getImages(),
+            // Copias: el DTO queda en caché y no debe apuntar a colecciones de Hibernate
+            place.getImages() != null ? List.copyOf(place.getImages()) : List.of(),
+            place.getDetailImageUrls(),
             place.getLatitude(),
             place.getLongitude(),
-            place.getServices(),
-            comments,
+            place.getServices() != null ? List.copyOf(place.getServices()) : List.of(),
+            comments.getContent(),
+            place.getRatingCount(),
+            comments.hasNext(),
             availability,
             averageRating
         );
     }
 
     @Override
-    public List<String> autocompleteCities(String prefix) throws Exception {
+    public List<AvailabilityDTO> getAvailability(Long placeId, LocalDate from, LocalDate to) throws Exception {
+        if (!placeRepository.existsById(placeId)) {
+            throw new NotFoundException("Alojamiento no encontrado");
+        }
+
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(DETAIL_AVAILABILITY_DAYS);
+        if (end.isBefore(start)) {
+            throw new ValidationException("La fecha final no puede ser anterior a la inicial");
+        }
+        if (end.isAfter(start.plusDays(MAX_AVAILABILITY_DAYS))) {
+            throw new ValidationException("El rango de fechas no puede superar " + MAX_AVAILABILITY_DAYS + " días");
+        }
+
+        return availabilityIndex.findBookedRanges(placeId, start.atStartOfDay(), end.atStartOfDay());
+    }
+
+    @Override
+    public List<String> autocompleteCities(String prefix, int limit) throws Exception {
         if (prefix == null || prefix.trim().isEmpty()) {
             return List.of();
         }
-        return placeRepository.findCitiesByPrefix(prefix.trim());
+        // Se responde desde el trie en memoria: sin consultas por cada tecla
+        return cityAutocompleteIndex.suggest(prefix, Math.min(Math.max(limit, 1), MAX_AUTOCOMPLETE_LIMIT));
     }
 }
@@ -0,0 +1,168 @@
+package co.edu.uniquindio.application.services.impl;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Genera el PDF del código de recuperación a partir de una plantilla.
+ * Al arrancar se dibuja una sola vez el texto fijo y se guarda el contenido de esa capa (los operadores de
+ * dibujo) junto con los programas de las fuentes. Por cada solicitud no se vuelve a leer ni a parsear ningún
+ * PDF: se crea el documento, la capa fija entra como un form XObject con ese contenido y solo se estampan la
+ * fecha, el código, el email y la fecha de expiración en posiciones conocidas.
+ * Tiempo de cada render en app.email.reset_pdf.render.
+ */
+@Slf4j
+@Component
+public class ResetCodePdfRenderer {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private static final float LEFT = 56;
+    private static final float BODY_SIZE = 12;
+    private static final float TITLE_SIZE = 16;
+    private static final float CODE_SIZE = 24;
+
+    private static final String DATE_LABEL = "Fecha: ";
+    private static final String EMAIL_LABEL = "Email: ";
+    private static final String EXPIRY_LABEL = "Válido hasta: ";
+
+    private static final float DATE_Y = 745;
+    private static final float CODE_Y = 615;
+    private static final float EMAIL_Y = 575;
+    private static final float EXPIRY_Y = 555;
+
+    private final Timer renderTimer;
+
+    // Las PdfFont pertenecen a un documento; los FontProgram (métricas ya cargadas) se comparten entre todos
+    private FontProgram regularProgram;
+    private FontProgram boldProgram;
+
+    // Contenido de la capa fija y nombres con los que referencia a las fuentes en sus recursos
+    private byte[] layout;
+    private PdfName regularName;
+    private PdfName boldName;
+
+    private float dateX;
+    private float emailX;
+    private float expiryX;
+
+    public ResetCodePdfRenderer(MeterRegistry meterRegistry) {
+        this.renderTimer = Timer.builder("app.email.reset_pdf.render")
+                .description("Generación del PDF del código de recuperación")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        regularProgram = FontProgramFactory.createFont(StandardFonts.HELVETICA);
+        boldProgram = FontProgramFactory.createFont(StandardFonts.HELVETICA_BOLD);
+
+        try (PdfDocument pdf = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()))) {
+            PdfFont regular = font(regularProgram);
+            PdfFont bold = font(boldProgram);
+            PdfFormXObject xObject = new PdfFormXObject(PageSize.A4);
+            regularName = xObject.getResources().addFont(pdf, regular);
+            boldName = xObject.getResources().addFont(pdf, bold);
+
+            PdfCanvas canvas = new PdfCanvas(xObject, pdf);
+            text(canvas, bold, TITLE_SIZE, 780, "RECUPERACIÓN DE CONTRASEÑA - ALOJAMIENTOS APP");
+            text(canvas, regular, BODY_SIZE, DATE_Y, DATE_LABEL);
+            text(canvas, regular, BODY_SIZE, 715, "Estimado usuario,");
+            text(canvas, regular, BODY_SIZE, 690, "Has solicitado restablecer tu contraseña. Usa el siguiente código:");
+            text(canvas, bold, BODY_SIZE, 655, "CÓDIGO DE VERIFICACIÓN:");
+            text(canvas, regular, BODY_SIZE, EMAIL_Y, EMAIL_LABEL);
+            text(canvas, regular, BODY_SIZE, EXPIRY_Y, EXPIRY_LABEL);
+            text(canvas, bold, BODY_SIZE, 520, "Instrucciones:");
+            text(canvas, regular, BODY_SIZE, 500, "1. Ingresa este código en la aplicación");
+            text(canvas, regular, BODY_SIZE, 482, "2. Crea una nueva contraseña");
+            text(canvas, regular, BODY_SIZE, 464, "3. El código expira en 15 minutos");
+            text(canvas, regular, BODY_SIZE, 430, "Si no solicitaste este cambio, ignora este mensaje.");
+            text(canvas, regular, BODY_SIZE, 395, "Atentamente,");
+            text(canvas, regular, BODY_SIZE, 377, "El equipo de Alojamientos App");
+            canvas.release();
+            layout = xObject.getPdfObject().getBytes();
+
+            // Los valores variables van justo después de cada etiqueta
+            dateX = LEFT + regular.getWidth(DATE_LABEL, BODY_SIZE);
+            emailX = LEFT + regular.getWidth(EMAIL_LABEL, BODY_SIZE);
+            expiryX = LEFT + regular.getWidth(EXPIRY_LABEL, BODY_SIZE);
+        }
+
+        log.info("Plantilla PDF de recuperación generada ({} bytes de contenido)", layout.length);
+    }
+
+    /**
+     * Estampa los datos de la solicitud sobre la plantilla y devuelve el PDF.
+     */
+    public byte[] render(String email, String code, LocalDateTime issuedAt, LocalDateTime expiresAt) throws IOException {
+        long start = System.nanoTime();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(layout.length + 2048);
+
+        try (PdfDocument pdf = new PdfDocument(new PdfWriter(outputStream))) {
+            PdfFont regular = font(regularProgram);
+            PdfFont bold = font(boldProgram);
+            PdfCanvas canvas = new PdfCanvas(pdf.addNewPage(PageSize.A4));
+            canvas.addXObjectAt(layout(pdf, regular, bold), 0, 0);
+
+            text(canvas, regular, BODY_SIZE, dateX, DATE_Y, issuedAt.format(FORMATTER));
+            text(canvas, bold, CODE_SIZE, LEFT, CODE_Y, code);
+            text(canvas, regular, BODY_SIZE, emailX, EMAIL_Y, email);
+            text(canvas, regular, BODY_SIZE, expiryX, EXPIRY_Y, expiresAt.format(FORMATTER));
+        }
+
+        long elapsed = System.nanoTime() - start;
+        renderTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.debug("PDF de recuperación generado en {} µs", elapsed / 1_000);
+
+        return outputStream.toByteArray();
+    }
+
+    // Capa fija del documento: el contenido guardado con las fuentes de este documento bajo los mismos nombres
+    private PdfFormXObject layout(PdfDocument pdf, PdfFont regular, PdfFont bold) {
+        PdfFormXObject xObject = new PdfFormXObject(PageSize.A4);
+        PdfName regularResource = xObject.getResources().addFont(pdf, regular);
+        PdfName boldResource = xObject.getResources().addFont(pdf, bold);
+        if (!regularResource.equals(regularName) || !boldResource.equals(boldName)) {
+            throw new IllegalStateException("Los recursos de la plantilla PDF no coinciden con su contenido");
+        }
+        xObject.getPdfObject().setData(layout);
+        return xObject;
+    }
+
+    private static PdfFont font(FontProgram program) throws IOException {
+        return PdfFontFactory.createFont(program, PdfEncodings.WINANSI);
+    }
+
+    private void text(PdfCanvas canvas, PdfFont font, float size, float y, String value) {
+        text(canvas, font, size, LEFT, y, value);
+    }
+
+    private void text(PdfCanvas canvas, PdfFont font, float size, float x, float y, String value) {
+        canvas.beginText()
+                .setFontAndSize(font, size)
+                .moveText(x, y)
+                .showText(value)
+                .endText();
+    }
+}
@@ -0,0 +1,45 @@
+package co.edu.uniquindio.application.services.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilidades para sincronizar los índices en memoria con la transacción actual.
+ */
+final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    /**
+     * Ejecuta la acción después del commit, o de inmediato si no hay transacción activa.
+     */
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Ejecuta la acción si la transacción actual termina sin commit. Sin transacción activa no hace nada.
+     */
+    static void onRollback(Runnable undo) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        undo.run();
+                    }
+                }
+            });
+        }
+    }
+}
@@ -11,8 +11,6 @@ import co.edu.uniquindio.application.repositories.UserRepository;
 import co.edu.uniquindio.application.services.PasswordResetService;
 import co.edu.uniquindio.application.services.UserService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +21,7 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final UserRepository userRepository;
     private final PasswordResetService passwordResetService;
+    private final PasswordHashingService passwordHashingService;
 
     @Override
     public void create(CreateUserDTO userDTO) throws Exception {
@@ -41,13 +40,11 @@ public class UserServiceImpl implements UserService {
             throw new ValueConflictException("El correo electrónico ya está en uso.");
         }
 
-        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-
         // Transformación del DTO a User
         User newUser = userMapper.toEntity(userDTO);
 
         // Cifrado de la contraseña
-        newUser.setPassword(passwordEncoder.encode(userDTO.password()));
+        newUser.setPassword(passwordHashingService.encode(userDTO.password()));
 
         //Almacenamiento del usuario
         userRepository.save(newUser);
@@ -94,13 +91,11 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void changePassword(String id, ChangePasswordDTO changePasswordDTO) throws Exception {
-        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-
         // Recuperar el usuario desde la base de datos
         User user = getUserById(id);
 
         // Verificar que la contraseña actual coincida
-        if(!passwordEncoder.matches(changePasswordDTO.oldPassword(), user.getPassword())){
+        if(!passwordHashingService.matches(changePasswordDTO.oldPassword(), user.getPassword())){
             throw new ValidationException("La contraseña actual es incorrecta.");
         }
 
@@ -110,7 +105,7 @@ public class UserServiceImpl implements UserService {
         }
 
         // Actualizar la contraseña
-        user.setPassword( passwordEncoder.encode(changePasswordDTO.newPassword()) );
+        user.setPassword( passwordHashingService.encode(changePasswordDTO.newPassword()) );
 
         // Guardar el usuario con la nueva contraseña
         userRepository.save(user);
@@ -140,16 +135,20 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDTO login(LoginDTO loginDTO) throws Exception {
-        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-
         // Recuperar el usuario desde la base de datos
         User user = getUserByEmail(loginDTO.email());
 
         // Verificar si la contraseña es correcta usando el PasswordEncoder
-        if(!passwordEncoder.matches(loginDTO.password(), user.getPassword())){
+        if(!passwordHashingService.matches(loginDTO.password(), user.getPassword())){
             throw new NotFoundException("Credenciales inválidas");
         }
 
+        // Si el costo de BCrypt cambió, se recalcula el hash aprovechando que tenemos la contraseña en claro
+        if(passwordHashingService.needsRehash(user.getPassword())){
+            user.setPassword(passwordHashingService.encode(loginDTO.password()));
+            userRepository.save(user);
+        }
+
         // Retornar el UserDTO con los datos del usuario autenticado
         return userMapper.toUserDTO(user);
     }
@@ -0,0 +1,23 @@
+package co.edu.uniquindio.application.config.query;
+
+import java.util.List;
+
+/**
+ * Captura, a través de QueryInspector (queries.inspector.enabled), los SELECT que Hibernate genera al ejecutar
+ * una acción fuera de una petición HTTP, para que las pruebas analicen el SQL real y no una copia escrita a mano.
+ */
+public final class CapturedStatements {
+
+    private CapturedStatements() {
+    }
+
+    public static List<String> selects(Runnable action) {
+        QueryLog queryLog = QueryLog.start("captura de sentencias");
+        try {
+            action.run();
+            return List.copyOf(queryLog.selects());
+        } finally {
+            QueryLog.clear();
+        }
+    }
+}
@@ -17,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -70,6 +71,22 @@ public class AuthControllerTest {
                 .andExpect(jsonPath("$.content").value("El registro ha sido exitoso"));
     }
 
+    @Test
+    void requestIdIsReusedOnlyWhenItIsASimpleTokenTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/auth/login")
+                .header("X-Request-Id", "abc-123_x.y")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validLoginDTO)))
+                .andExpect(header().string("X-Request-Id", "abc-123_x.y"));
+
+        // Saltos de línea u otros caracteres podrían falsear líneas del log: se genera un id nuevo
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/auth/login")
+                .header("X-Request-Id", "abc\nauth=ok email=admin")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validLoginDTO)))
+                .andExpect(header().string("X-Request-Id", matchesPattern("[0-9a-f-]{36}")));
+    }
+
     @Test
     void loginSuccessfulTest() throws Exception {
         userService.create(validUserDTO);
@@ -3,8 +3,28 @@ package co.edu.uniquindio.application.controllers;
 import co.edu.uniquindio.application.config.jwt.JwtUtil;
 import co.edu.uniquindio.application.dto.booking.*;
 import co.edu.uniquindio.application.dto.user.*;
+import co.edu.uniquindio.application.model.entity.Booking;
+import co.edu.uniquindio.application.model.entity.BookingStatusTransition;
+import co.edu.uniquindio.application.model.entity.Place;
+import co.edu.uniquindio.application.model.entity.User;
+import co.edu.uniquindio.application.model.enums.BookingStatus;
+import co.edu.uniquindio.application.model.enums.Service;
+import co.edu.uniquindio.application.model.enums.Status;
+import co.edu.uniquindio.application.repositories.BookingRepository;
+import co.edu.uniquindio.application.repositories.BookingStatusTransitionRepository;
+import co.edu.uniquindio.application.repositories.PlaceRepository;
+import co.edu.uniquindio.application.repositories.UserRepository;
+import co.edu.uniquindio.application.exceptions.ValidationException;
+import co.edu.uniquindio.application.services.BookingService;
 import co.edu.uniquindio.application.services.UserService;
+import co.edu.uniquindio.application.services.impl.AvailabilityIndex;
+import co.edu.uniquindio.application.services.impl.BookingAdmission;
+import co.edu.uniquindio.application.services.impl.BookingLifecycleScheduler;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,10 +34,22 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -39,6 +71,33 @@ public class BookingControllerTest {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlaceRepository placeRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private BookingLifecycleScheduler bookingLifecycleScheduler;
+
+    @Autowired
+    private BookingStatusTransitionRepository transitionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private CreateUserDTO guestUserDTO;
     private CreateBookingDTO validBookingDTO;
     private CreateBookingDTO invalidBookingDTO;
@@ -263,4 +322,342 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.error").value(true))
                 .andExpect(jsonPath("$.content").value("Alojamiento no encontrado"));
     }
-}
\ No newline at end of file
+
+    // ========================== TESTS DE CONSULTAS (N+1) ==========================
+
+    @Test
+    void getUserBookingsRunsSingleStatementTest() throws Exception {
+        String hostEmail = "host" + System.currentTimeMillis() + "@example.com";
+        userService.create(new CreateUserDTO(
+            "Host Test User",
+            "3007654321",
+            hostEmail,
+            "Password123*",
+            null,
+            LocalDate.of(1985, 5, 15)
+        ));
+        User host = userRepository.findByEmail(hostEmail).orElseThrow();
+        User guest = userRepository.findByEmail(guestEmail).orElseThrow();
+
+        // Un alojamiento distinto por reserva: con carga perezosa serían 8 consultas extra
+        for (int i = 0; i < 8; i++) {
+            Place place = placeRepository.save(Place.builder()
+                .title("Casa " + i)
+                .description("Casa para contar sentencias")
+                .price(100000f)
+                .images(List.of("https://example.com/image" + i + ".jpg"))
+                .services(List.of(Service.WIFI))
+                .status(Status.ACTIVE)
+                .city("Armenia")
+                .address("Calle " + i)
+                .latitude(4.53)
+                .longitude(-75.68)
+                .maxGuests(2)
+                .host(host)
+                .build());
+
+            bookingRepository.save(Booking.builder()
+                .guest(guest)
+                .place(place)
+                .status(BookingStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .checkIn(LocalDateTime.now().plusDays(10 + i))
+                .checkOut(LocalDateTime.now().plusDays(11 + i))
+                .guestCount(1)
+                .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/bookings/history")
+                .header("Authorization", "Bearer " + guestToken)
+                .param("size", "20"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(8))
+                .andExpect(jsonPath("$.content[0].placeName").exists());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getBookingsByPlaceRunsTwoStatementsTest() throws Exception {
+        User host = createHost("hostlist");
+        User guest = userRepository.findByEmail(guestEmail).orElseThrow();
+        Place place = savePlace(host, "Casa Listado");
+
+        LocalDateTime base = LocalDate.now().plusDays(50).atStartOfDay();
+        for (int i = 0; i < 6; i++) {
+            saveBooking(guest, place, base.plusDays(i * 3L), base.plusDays(i * 3L + 2));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/bookings/place/{placeId}", place.getId())
+                .header("Authorization", "Bearer " + jwtUtil.generateToken("1", host.getEmail()))
+                .param("size", "20"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(6))
+                .andExpect(jsonPath("$.content[0].placeName").value("Casa Listado"));
+
+        // Email del anfitrión (verificación de permisos) + la proyección de reservas
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void bulkStatusReportsPerBookingOutcomesTest() throws Exception {
+        User host = createHost("hostbulk");
+        String hostEmail = host.getEmail();
+        User guest = userRepository.findByEmail(guestEmail).orElseThrow();
+        Place place = savePlace(host, "Casa Lote");
+
+        LocalDateTime base = LocalDate.now().plusDays(40).atStartOfDay();
+        Long first = saveBooking(guest, place, base, base.plusDays(3));
+        Long overlapping = saveBooking(guest, place, base.plusDays(1), base.plusDays(4));
+        Long later = saveBooking(guest, place, base.plusDays(10), base.plusDays(12));
+
+        BulkBookingStatusDTO bulkDTO = new BulkBookingStatusDTO(
+            List.of(first, overlapping, later, 999999L), BookingStatus.CONFIRMED);
+
+        mockMvc.perform(MockMvcRequestBuilders.patch("/api/bookings/bulk-status")
+                .header("Authorization", "Bearer " + jwtUtil.generateToken("1", hostEmail))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bulkDTO)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.error").value(false))
+                .andExpect(jsonPath("$.content.length()").value(4))
+                .andExpect(jsonPath("$.content[0].updated").value(true))
+                .andExpect(jsonPath("$.content[1].updated").value(false))
+                .andExpect(jsonPath("$.content[1].message").value("El alojamiento ya tiene una reserva confirmada en esas fechas"))
+                .andExpect(jsonPath("$.content[2].updated").value(true))
+                .andExpect(jsonPath("$.content[3].updated").value(false))
+                .andExpect(jsonPath("$.content[3].message").value("Reserva no encontrada"));
+
+        assertEquals(BookingStatus.CONFIRMED, bookingRepository.findById(first).orElseThrow().getStatus());
+        assertEquals(BookingStatus.PENDING, bookingRepository.findById(overlapping).orElseThrow().getStatus());
+        assertEquals(BookingStatus.CONFIRMED, bookingRepository.findById(later).orElseThrow().getStatus());
+
+        // El huésped no es anfitrión de esas reservas
+        mockMvc.perform(MockMvcRequestBuilders.patch("/api/bookings/bulk-status")
+                .header("Authorization", "Bearer " + guestToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new BulkBookingStatusDTO(List.of(overlapping), BookingStatus.REJECTED))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].updated").value(false));
+    }
+
+    @Test
+    void lifecycleSweepCompletesAndExpiresBookingsTest() throws Exception {
+        User host = createHost("hostlifecycle");
+        User guest = userRepository.findByEmail(guestEmail).orElseThrow();
+        Place place = savePlace(host, "Casa Ciclo de Vida");
+
+        LocalDateTime now = LocalDateTime.now();
+        Booking finished = bookingRepository.save(Booking.builder()
+            .guest(guest)
+            .place(place)
+            .status(BookingStatus.CONFIRMED)
+            .createdAt(now.minusDays(10))
+            .checkIn(now.minusDays(5))
+            .checkOut(now.minusDays(2))
+            .guestCount(1)
+            .build());
+        Booking stale = bookingRepository.save(Booking.builder()
+            .guest(guest)
+            .place(place)
+            .status(BookingStatus.PENDING)
+            .createdAt(now.minusDays(3))
+            .checkIn(now.plusDays(20))
+            .checkOut(now.plusDays(22))
+            .guestCount(1)
+            .build());
+        Long fresh = saveBooking(guest, place, now.plusDays(30), now.plusDays(32));
+
+        assertEquals(1, bookingLifecycleScheduler.completeFinished(now));
+        assertEquals(1, bookingLifecycleScheduler.expireStale(now));
+
+        assertEquals(BookingStatus.COMPLETED, bookingRepository.findById(finished.getId()).orElseThrow().getStatus());
+        assertEquals(BookingStatus.EXPIRED, bookingRepository.findById(stale.getId()).orElseThrow().getStatus());
+        assertEquals(BookingStatus.PENDING, bookingRepository.findById(fresh).orElseThrow().getStatus());
+
+        List<BookingStatusTransition> transitions = transitionRepository.findByBookingIdOrderByChangedAtAsc(stale.getId());
+        assertEquals(1, transitions.size());
+        assertEquals(BookingStatus.PENDING, transitions.get(0).getFromStatus());
+        assertEquals(BookingStatus.EXPIRED, transitions.get(0).getToStatus());
+    }
+
+    private User createHost(String prefix) throws Exception {
+        String hostEmail = prefix + System.currentTimeMillis() + "@example.com";
+        userService.create(new CreateUserDTO(
+            "Host Test User",
+            "3007654321",
+            hostEmail,
+            "Password123*",
+            null,
+            LocalDate.of(1985, 5, 15)
+        ));
+        return userRepository.findByEmail(hostEmail).orElseThrow();
+    }
+
+    private Place savePlace(User host, String title) {
+        return placeRepository.save(Place.builder()
+            .title(title)
+            .description("Alojamiento de prueba para reservas")
+            .price(100000f)
+            .images(List.of("https://example.com/booking-test.jpg"))
+            .services(List.of(Service.WIFI))
+            .status(Status.ACTIVE)
+            .city("Armenia")
+            .address("Calle 1")
+            .latitude(4.53)
+            .longitude(-75.68)
+            .maxGuests(2)
+            .host(host)
+            .build());
+    }
+
+    private Long saveBooking(User guest, Place place, LocalDateTime checkIn, LocalDateTime checkOut) {
+        return bookingRepository.save(Booking.builder()
+            .guest(guest)
+            .place(place)
+            .status(BookingStatus.PENDING)
+            .createdAt(LocalDateTime.now())
+            .checkIn(checkIn)
+            .checkOut(checkOut)
+            .guestCount(1)
+            .build()).getId();
+    }
+
+    // Sin transacción de prueba: cada aprobación hace commit real, como en producción. Limpia lo que crea.
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentApprovalsNeverDoubleBookTest() throws Exception {
+        int requests = 200;
+        User host = createHost("hoststress");
+        String hostEmail = host.getEmail();
+        User guest = userRepository.findByEmail(guestEmail).orElseThrow();
+        Place place = savePlace(host, "Casa Concurrencia");
+
+        // Todas las reservas se cruzan entre sí: solo una puede quedar confirmada
+        LocalDateTime base = LocalDate.now().plusDays(30).atStartOfDay();
+        List<Long> bookingIds = new ArrayList<>();
+        try {
+            for (int i = 0; i < requests; i++) {
+                bookingIds.add(saveBooking(guest, place, base.plusDays(i % 3), base.plusDays(i % 3 + 2)));
+            }
+
+            AtomicInteger confirmed = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(32);
+            List<Future<?>> futures = new ArrayList<>();
+            for (Long bookingId : bookingIds) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.approveBooking(bookingId, hostEmail);
+                        confirmed.incrementAndGet();
+                    } catch (ValidationException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            pool.shutdown();
+
+            assertEquals(1, confirmed.get());
+            assertEquals(requests - 1, rejected.get());
+            assertEquals(1, bookingRepository.findByPlaceIdAndStatus(place.getId(), BookingStatus.CONFIRMED).size());
+        } finally {
+            bookingRepository.findAllById(bookingIds).forEach(availabilityIndex::release);
+            bookingRepository.deleteAllById(bookingIds);
+            placeRepository.deleteById(place.getId());
+            userRepository.delete(host);
+            userRepository.delete(guest);
+        }
+    }
+
+    // Cada BookingAdmission simula otra instancia de la aplicación: sus locks por franjas no se comparten,
+    // así que solo el SELECT ... FOR UPDATE sobre el alojamiento puede evitar la doble confirmación
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentApprovalsAcrossInstancesRelyOnRowLockTest() throws Exception {
+        int requests = 100;
+        int instances = 8;
+        User host = createHost("hostnodes");
+        User guest = userRepository.findByEmail(guestEmail).orElseThrow();
+        Place place = savePlace(host, "Casa Varios Nodos");
+
+        LocalDateTime base = LocalDate.now().plusDays(30).atStartOfDay();
+        List<Long> bookingIds = new ArrayList<>();
+        try {
+            for (int i = 0; i < requests; i++) {
+                bookingIds.add(saveBooking(guest, place, base.plusDays(i % 3), base.plusDays(i % 3 + 2)));
+            }
+
+            List<BookingAdmission> admissions = new ArrayList<>();
+            for (int i = 0; i < instances; i++) {
+                admissions.add(new BookingAdmission(placeRepository, bookingRepository, transactionManager, 64, 5));
+            }
+
+            AtomicInteger confirmed = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(instances * 2);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < bookingIds.size(); i++) {
+                Long bookingId = bookingIds.get(i);
+                BookingAdmission admission = admissions.get(i % instances);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        admission.execute(place.getId(), () -> {
+                            Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+                            admission.lockAndCheckOverlap(booking);
+                            booking.setStatus(BookingStatus.CONFIRMED);
+                            bookingRepository.save(booking);
+                            return null;
+                        });
+                        confirmed.incrementAndGet();
+                    } catch (ValidationException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            pool.shutdown();
+
+            assertEquals(1, confirmed.get());
+            assertEquals(requests - 1, rejected.get());
+            assertEquals(1, bookingRepository.findByPlaceIdAndStatus(place.getId(), BookingStatus.CONFIRMED).size());
+        } finally {
+            bookingRepository.deleteAllById(bookingIds);
+            placeRepository.deleteById(place.getId());
+            userRepository.delete(host);
+            userRepository.delete(guest);
+        }
+    }
+}
@@ -7,13 +7,19 @@ import co.edu.uniquindio.application.dto.Comment.ReplyCommentDTO;
 import co.edu.uniquindio.application.dto.booking.CreateBookingDTO;
 import co.edu.uniquindio.application.dto.place.CreatePlaceDTO;
 import co.edu.uniquindio.application.dto.user.CreateUserDTO;
+import co.edu.uniquindio.application.model.entity.Place;
 import co.edu.uniquindio.application.model.enums.BookingStatus;
 import co.edu.uniquindio.application.model.enums.Service;
+import co.edu.uniquindio.application.repositories.PlaceRepository;
 import co.edu.uniquindio.application.services.BookingService;
 import co.edu.uniquindio.application.services.CommentService;
 import co.edu.uniquindio.application.services.PlaceService;
 import co.edu.uniquindio.application.services.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +34,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -58,6 +65,12 @@ public class CommentControllerTest {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private PlaceRepository placeRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private CreateUserDTO guestUserDTO;
     private CreateUserDTO hostUserDTO;
     private String guestEmail;
@@ -383,6 +396,25 @@ public class CommentControllerTest {
                 .andExpect(jsonPath("$.content[0].text").value("Excelente lugar para pruebas"));
     }
 
+    @Test
+    void getCommentsByPlaceWithCursorTest() throws Exception {
+        Long olderCommentId = crearComentarioConRating(4);
+        crearComentarioConRating(5);
+
+        List<CommentDTO> firstPage = commentService.listCommentsByPlace(testPlaceId, null, null, 1);
+        CommentDTO last = firstPage.get(0);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/comments/place/{placeId}", testPlaceId)
+                        .header("Authorization", "Bearer " + guestToken)
+                        .param("size", "1")
+                        .param("lastCreatedAt", last.createdAt().toString())
+                        .param("lastId", last.id().toString()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(olderCommentId));
+    }
+
     // ========================== TESTS DE RATING PROMEDIO ==========================
 
     @Test
@@ -407,6 +439,45 @@ public class CommentControllerTest {
                 .andExpect(jsonPath("$.content").value(4.0)); // (5+3+4)/3 = 4.0
     }
 
+    @Test
+    void listCommentsByPlaceRunsSingleStatementTest() throws Exception {
+        crearComentarioConRating(5);
+        crearComentarioConRating(3);
+        crearComentarioConRating(4);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/comments/place/{placeId}", testPlaceId)
+                        .header("Authorization", "Bearer " + guestToken))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.content[0].authorName").exists());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void savingStalePlaceKeepsRatingAggregateTest() throws Exception {
+        // Un Place leído antes de que llegue el comentario y guardado después no debe pisar el agregado
+        Place stale = placeRepository.findById(testPlaceId).orElseThrow();
+        crearComentarioConRating(5);
+
+        stale.setTitle("Título editado");
+        placeRepository.saveAndFlush(stale);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/comments/place/{placeId}/average-rating", testPlaceId)
+                        .header("Authorization", "Bearer " + guestToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value(5.0));
+    }
+
     @Test
     void getAverageRatingForNonExistentPlaceTest() throws Exception {
         Long nonExistentPlaceId = 99999L;
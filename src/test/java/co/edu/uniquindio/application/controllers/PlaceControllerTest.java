@@ -3,25 +3,63 @@ package co.edu.uniquindio.application.controllers;
 import co.edu.uniquindio.application.config.jwt.JwtUtil;
 import co.edu.uniquindio.application.dto.place.*;
 import co.edu.uniquindio.application.dto.user.*;
+import co.edu.uniquindio.application.exceptions.NotFoundException;
+import co.edu.uniquindio.application.exceptions.ValidationException;
+import co.edu.uniquindio.application.model.entity.Place;
 import co.edu.uniquindio.application.model.enums.Service;
+import co.edu.uniquindio.application.services.FavoriteService;
 import co.edu.uniquindio.application.services.UserService;
 import co.edu.uniquindio.application.services.PlaceService;
+import co.edu.uniquindio.application.services.impl.PlaceDetailCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -46,6 +84,24 @@ public class PlaceControllerTest {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private PlaceDetailCache placeDetailCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private FavoriteService favoriteService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${images.local.dir}")
+    private String imagesDir;
+
+    @Value("${images.local.base-url:/uploads/images}")
+    private String imagesBaseUrl;
+
     private CreateUserDTO hostUserDTO;
     private String hostEmail;
     private String hostToken;
@@ -219,8 +275,310 @@ public class PlaceControllerTest {
                 .andExpect(jsonPath("$.content").isArray());
     }
 
+    @Test
+    void searchPlacesWithCursorTest() throws Exception {
+        List<Long> ids = new java.util.ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(placeService.create(new CreatePlaceDTO(
+                "Casa Cursor " + i,
+                "Casa para probar el cursor",
+                2,
+                100000.0f + i,
+                List.of("https://example.com/image" + i + ".jpg"),
+                null,
+                List.of(Service.WIFI),
+                4.7110,
+                -74.0721,
+                "Calle " + i,
+                "CiudadCursor"
+            ), hostEmail));
+        }
+
+        String firstPageJson = """
+            {
+                "city": "CiudadCursor",
+                "page": 0,
+                "size": 2
+            }
+            """;
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/places/search")
+                .header("Authorization", "Bearer " + hostToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(firstPageJson))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].nightlyPrice").value(100000.0))
+                .andExpect(jsonPath("$.content[1].nightlyPrice").value(100001.0));
+
+        String nextPageJson = """
+            {
+                "city": "CiudadCursor",
+                "page": 0,
+                "size": 2,
+                "lastPrice": 100001.0,
+                "lastId": %d
+            }
+            """.formatted(ids.get(1));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/places/search")
+                .header("Authorization", "Bearer " + hostToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(nextPageJson))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].nightlyPrice").value(100002.0));
+    }
+
+    @Test
+    void searchPlacesByRadiusAndMapAreaTest() throws Exception {
+        placeService.create(new CreatePlaceDTO(
+            "Casa Bogotá", "Casa en Bogotá", 2, 100000.0f,
+            List.of("https://example.com/bogota.jpg"), null, List.of(Service.WIFI),
+            4.7110, -74.0721, "Calle 1", "CiudadGeo"
+        ), hostEmail);
+        placeService.create(new CreatePlaceDTO(
+            "Casa Medellín", "Casa en Medellín", 2, 120000.0f,
+            List.of("https://example.com/medellin.jpg"), null, List.of(Service.WIFI),
+            6.2442, -75.5812, "Calle 2", "CiudadGeo"
+        ), hostEmail);
+
+        String radiusJson = """
+            {
+                "city": "CiudadGeo",
+                "latitude": 4.65,
+                "longitude": -74.10,
+                "radiusKm": 15
+            }
+            """;
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/places/search")
+                .header("Authorization", "Bearer " + hostToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(radiusJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Casa Bogotá"));
+
+        String areaJson = """
+            {
+                "city": "CiudadGeo",
+                "south": 6.0,
+                "west": -76.0,
+                "north": 6.5,
+                "east": -75.0
+            }
+            """;
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/places/search")
+                .header("Authorization", "Bearer " + hostToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(areaJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Casa Medellín"));
+    }
+
+    @Test
+    void searchByRadiusChecksExactDistanceAcrossAntimeridianTest() throws Exception {
+        placeService.create(new CreatePlaceDTO(
+            "Casa Oeste", "Al oeste del antimeridiano", 2, 100000.0f,
+            List.of("https://example.com/oeste.jpg"), null, List.of(Service.WIFI),
+            0.0, 179.95, "Calle 1", "CiudadAntimeridiano"
+        ), hostEmail);
+        placeService.create(new CreatePlaceDTO(
+            "Casa Este", "Al este del antimeridiano", 2, 110000.0f,
+            List.of("https://example.com/este.jpg"), null, List.of(Service.WIFI),
+            0.0, -179.95, "Calle 2", "CiudadAntimeridiano"
+        ), hostEmail);
+        // Dentro del rectángulo que envuelve el radio pero a ~27 km del centro
+        placeService.create(new CreatePlaceDTO(
+            "Casa Esquina", "En la esquina del rectángulo", 2, 120000.0f,
+            List.of("https://example.com/esquina.jpg"), null, List.of(Service.WIFI),
+            0.17, -179.88, "Calle 3", "CiudadAntimeridiano"
+        ), hostEmail);
+
+        String radiusJson = """
+            {
+                "city": "CiudadAntimeridiano",
+                "latitude": 0.0,
+                "longitude": 179.95,
+                "radiusKm": 20
+            }
+            """;
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/places/search")
+                .header("Authorization", "Bearer " + hostToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(radiusJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].title").value("Casa Oeste"))
+                .andExpect(jsonPath("$.content[1].title").value("Casa Este"));
+
+        String areaJson = """
+            {
+                "city": "CiudadAntimeridiano",
+                "south": -0.1,
+                "west": 179.9,
+                "north": 0.1,
+                "east": -179.9
+            }
+            """;
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/places/search")
+                .header("Authorization", "Bearer " + hostToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(areaJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    @Test
+    void geoIndexFollowsEditAndDeleteTest() throws Exception {
+        Long placeId = placeService.create(new CreatePlaceDTO(
+            "Casa Viajera", "Casa que cambia de ubicación", 2, 100000.0f,
+            List.of("https://example.com/viajera.jpg"), null, List.of(Service.WIFI),
+            4.7110, -74.0721, "Calle 1", "CiudadViajera"
+        ), hostEmail);
+
+        String bogotaJson = """
+            {
+                "city": "CiudadViajera",
+                "latitude": 4.65,
+                "longitude": -74.10,
+                "radiusKm": 15
+            }
+            """;
+        String medellinJson = """
+            {
+                "city": "CiudadViajera",
+                "latitude": 6.25,
+                "longitude": -75.58,
+                "radiusKm": 15
+            }
+            """;
+
+        searchGeo(bogotaJson).andExpect(jsonPath("$.content.length()").value(1));
+
+        // Al editar la ubicación el índice mueve el alojamiento de celda
+        placeService.edit(placeId, new EditPlaceDTO(
+            "Casa Viajera", "Casa que cambia de ubicación", 2, 100000.0f,
+            List.of("https://example.com/viajera.jpg"), List.of(Service.WIFI),
+            "Calle 2", 6.2442, -75.5812
+        ), hostEmail);
+        searchGeo(bogotaJson).andExpect(jsonPath("$.content.length()").value(0));
+        searchGeo(medellinJson).andExpect(jsonPath("$.content.length()").value(1));
+
+        // Al eliminarlo deja de aparecer en las búsquedas geográficas
+        placeService.delete(placeId, hostEmail);
+        searchGeo(medellinJson).andExpect(jsonPath("$.content.length()").value(0));
+    }
+
+    private ResultActions searchGeo(String json) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.post("/api/places/search")
+                .header("Authorization", "Bearer " + hostToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isOk());
+    }
+
     // ========================== TESTS DE DETALLES ==========================
 
+    @Test
+    void placeDetailIsCachedAndInvalidatedOnEditTest() throws Exception {
+        Long placeId = placeService.create(new CreatePlaceDTO(
+            "Casa Caché", "Casa para probar la caché", 2, 80000.0f,
+            List.of("https://example.com/cache.jpg"), null, List.of(Service.WIFI),
+            4.7110, -74.0721, "Calle 9", "CiudadCache"
+        ), hostEmail);
+
+        placeService.getPlaceDetail(placeId);
+        long hitsBefore = placeDetailCache.stats().hitCount();
+        placeService.getPlaceDetail(placeId);
+        assertEquals(hitsBefore + 1, placeDetailCache.stats().hitCount());
+
+        placeService.edit(placeId, new EditPlaceDTO(
+            "Casa Caché Editada", "Casa para probar la caché", 2, 80000.0f,
+            List.of("https://example.com/cache.jpg"), List.of(Service.WIFI),
+            "Calle 9", 4.7110, -74.0721
+        ), hostEmail);
+
+        assertEquals("Casa Caché Editada", placeService.getPlaceDetail(placeId).title());
+    }
+
+    @Test
+    void concurrentDetailLoadsDoNotPinVirtualThreadsTest() throws Exception {
+        Counter pinned = meterRegistry.find("jvm.threads.virtual.pinned").counter();
+        assumeTrue(pinned != null, "Sin monitor de pinning (hilos de plataforma o JVM sin JFR)");
+
+        Long placeId = placeService.create(new CreatePlaceDTO(
+            "Casa Virtual", "Casa para probar la carga del detalle", 2, 80000.0f,
+            List.of("https://example.com/virtual.jpg"), null, List.of(Service.WIFI),
+            4.7110, -74.0721, "Calle 10", "CiudadVirtual"
+        ), hostEmail);
+        PlaceDetailDTO detail = placeService.getPlaceDetail(placeId);
+        placeDetailCache.invalidate(placeId);
+
+        double baseline = pinnedBarrier(pinned);
+
+        // Varios hilos virtuales piden a la vez el mismo detalle y la carga tarda (como una consulta JDBC)
+        AtomicInteger loads = new AtomicInteger();
+        List<PlaceDetailDTO> results = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    start.await();
+                    results.add(placeDetailCache.get(placeId, id -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(200);
+                        return detail;
+                    }));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(8, results.size());
+        assertEquals(1, loads.get());
+        // Solo el evento de control de la segunda barrera: la carga del detalle no fijó ningún hilo
+        assertEquals(baseline + 1, pinnedBarrier(pinned));
+    }
+
+    /**
+     * Fija a propósito un hilo virtual (sleep dentro de synchronized, Java 21) y espera a que su evento JFR
+     * llegue al contador: los eventos anteriores ya se contaron. Devuelve el valor del contador en ese punto.
+     */
+    private double pinnedBarrier(Counter pinned) throws InterruptedException {
+        double before = pinned.count();
+        Object monitor = new Object();
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitor) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pinned.count() <= before && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assumeTrue(pinned.count() > before, "La JVM no reporta jdk.VirtualThreadPinned");
+        return pinned.count();
+    }
+
     @Test
     void getPlaceDetailWithNonExistentIdTest() throws Exception {
         Long nonExistentId = 99999L;
@@ -242,6 +600,44 @@ public class PlaceControllerTest {
                 .andExpect(jsonPath("$.content").value("Alojamiento no encontrado"));
     }
 
+    @Test
+    void placeDetailRequestIsTimedAcrossLayersTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/places/detail/{placeId}", 99999L)
+                .header("Authorization", "Bearer " + hostToken))
+                .andExpect(status().isNotFound());
+
+        assertNotNull(meterRegistry.find("http.server.requests")
+                .tag("uri", "/api/places/detail/{placeId}").tag("status", "404").timer());
+        assertNotNull(meterRegistry.find("app.service")
+                .tag("method", "getPlaceDetail").tag("exception", "NotFoundException").timer());
+        assertNotNull(meterRegistry.find("app.repository.query")
+                .tag("repository", "PlaceRepository").timer());
+    }
+
+    @Test
+    void placeDetailStaysWithinStatementBudgetTest() throws Exception {
+        Long placeId = placeService.create(new CreatePlaceDTO(
+            "Casa Presupuesto", "Casa para contar sentencias", 2, 80000.0f,
+            List.of("https://example.com/budget.jpg"), null, List.of(Service.WIFI),
+            4.7110, -74.0721, "Calle 10", "CiudadPresupuesto"
+        ), hostEmail);
+
+        // Con X-Query-Budget el filtro lanza IllegalStateException si la petición ejecuta más sentencias o hace N+1
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/places/detail/{placeId}", placeId)
+                .header("Authorization", "Bearer " + hostToken)
+                .header("X-Query-Budget", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Query-Count"));
+    }
+
+    @Test
+    void requestOverStatementBudgetFailsTest() {
+        assertThrows(IllegalStateException.class, () ->
+            mockMvc.perform(MockMvcRequestBuilders.get("/api/places/detail/{placeId}", 99999L)
+                    .header("Authorization", "Bearer " + hostToken)
+                    .header("X-Query-Budget", "0")));
+    }
+
     // ========================== TESTS DE MÉTRICAS ==========================
 
     @Test
@@ -321,6 +717,33 @@ public class PlaceControllerTest {
                 .andExpect(jsonPath("$.content").isArray());
     }
 
+    @Test
+    void autocompleteCityIgnoresAccentsAndRanksByListingsTest() throws Exception {
+        List<String> cities = List.of("Zipaquirá", "Zipaquirá", "Zapatoca");
+        for (int i = 0; i < cities.size(); i++) {
+            placeService.create(new CreatePlaceDTO(
+                "Casa Autocompletar " + i, "Casa para probar el autocompletado", 2, 90000.0f,
+                List.of("https://example.com/auto" + i + ".jpg"), null, List.of(Service.WIFI),
+                5.0, -74.0, "Calle " + i, cities.get(i)
+            ), hostEmail);
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/places/autocomplete-city")
+                .header("Authorization", "Bearer " + hostToken)
+                .param("prefix", "ZIPAQUIRA"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0]").value("Zipaquirá"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/places/autocomplete-city")
+                .header("Authorization", "Bearer " + hostToken)
+                .param("prefix", "z")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0]").value("Zipaquirá"));
+    }
+
     @Test
     void autocompleteCityWithEmptyPrefixTest() throws Exception {
         String emptyPrefix = "";
@@ -379,4 +802,193 @@ public class PlaceControllerTest {
                 .andDo(print())
                 .andExpect(status().isUnauthorized());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUserFavoritesRunsSingleStatementTest() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            Long placeId = placeService.create(new CreatePlaceDTO(
+                "Casa Favorita " + i, "Casa para contar sentencias", 2, 90000.0f + i,
+                List.of("https://example.com/fav" + i + ".jpg", "https://example.com/fav" + i + "b.jpg"),
+                null, List.of(Service.WIFI), 4.7110, -74.0721, "Calle " + i, "CiudadFavoritos"
+            ), hostEmail);
+            favoriteService.addFavorite(placeId, hostEmail);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/places/favorites")
+                .header("Authorization", "Bearer " + hostToken))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(4));
+
+        // Favorito, alojamiento, anfitrión e imágenes en un solo JOIN FETCH
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    // ========================== TESTS DE SUBIDA DE IMÁGENES ==========================
+
+    @Test
+    void uploadedImagesKeepRequestOrderTest() throws Exception {
+        List<MockMultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            files.add(pngFile("imagen-" + i, 40, 30, new Color(i * 60, 0, 0)));
+        }
+        // La primera es la más lenta: termina de último pero debe quedar primera
+        List<MultipartFile> uploads = new ArrayList<>(files);
+        uploads.set(0, delayedFile(files.get(0), 300));
+
+        Long placeId = placeService.create(placeWithFiles(uploads), hostEmail);
+
+        List<String> images = entityManager.find(Place.class, placeId).getImages();
+        assertEquals(4, images.size());
+        for (int i = 0; i < images.size(); i++) {
+            assertArrayEquals(files.get(i).getBytes(), Files.readAllBytes(storedPath(images.get(i))));
+        }
+    }
+
+    @Test
+    void failedUploadRemovesStoredImagesTest() throws Exception {
+        long before = storedFileCount();
+        List<MultipartFile> files = List.of(
+            pngFile("imagen-ok-1", 40, 30, Color.RED),
+            pngFile("imagen-ok-2", 40, 30, Color.GREEN),
+            failingFile()
+        );
+
+        assertThrows(IOException.class, () -> placeService.create(placeWithFiles(files), hostEmail));
+        // Las que sí se subieron se eliminan
+        assertEquals(before, storedFileCount());
+    }
+
+    @Test
+    void placeNotSavedRemovesUploadedImagesTest() throws Exception {
+        long before = storedFileCount();
+        List<MultipartFile> files = List.of(
+            pngFile("imagen-huerfana-1", 40, 30, Color.RED),
+            pngFile("imagen-huerfana-2", 40, 30, Color.GREEN)
+        );
+
+        // Las imágenes se suben antes de buscar al anfitrión, que no existe
+        assertThrows(NotFoundException.class,
+                () -> placeService.create(placeWithFiles(files), "noexiste" + System.currentTimeMillis() + "@example.com"));
+        assertEquals(before, storedFileCount());
+    }
+
+    @Test
+    void uploadedImageGetsScaledThumbnailTest() throws Exception {
+        Long placeId = placeService.create(placeWithFiles(List.of(pngFile("grande", 1000, 500, Color.BLUE))), hostEmail);
+
+        String thumbnail = entityManager.find(Place.class, placeId).getCoverThumbnail();
+        assertNotNull(thumbnail);
+        BufferedImage image = ImageIO.read(storedPath(thumbnail).toFile());
+        assertEquals(320, image.getWidth());
+        assertEquals(160, image.getHeight());
+    }
+
+    @Test
+    void uploadedImageGetsCardAndDetailVariantsTest() throws Exception {
+        Long placeId = placeService.create(placeWithFiles(List.of(pngFile("enorme", 2000, 1000, Color.GREEN))), hostEmail);
+
+        Place place = entityManager.find(Place.class, placeId);
+        BufferedImage card = ImageIO.read(storedPath(place.getCardImage()).toFile());
+        assertEquals(640, card.getWidth());
+        assertEquals(320, card.getHeight());
+
+        PlaceDetailDTO detail = placeService.getPlaceDetail(placeId);
+        assertEquals(1, detail.detailImages().size());
+        BufferedImage detailImage = ImageIO.read(storedPath(detail.detailImages().get(0)).toFile());
+        assertEquals(1280, detailImage.getWidth());
+        assertEquals(640, detailImage.getHeight());
+    }
+
+    @Test
+    void nonImageUploadIsRejectedTest() throws Exception {
+        long before = storedFileCount();
+        MockMultipartFile text = new MockMultipartFile("imageFiles", "notas.png", "image/png",
+                "esto no es una imagen".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(ValidationException.class, () -> placeService.create(placeWithFiles(List.of(text)), hostEmail));
+        assertEquals(before, storedFileCount());
+    }
+
+    @Test
+    void oversizedImageIsRejectedBeforeDecodingTest() throws Exception {
+        long before = storedFileCount();
+        // Pocos bytes pero 50.000 x 50.000 píxeles declarados en la cabecera
+        byte[] png = pngFile("base", 1, 1, Color.WHITE).getBytes();
+        ByteBuffer header = ByteBuffer.wrap(png);
+        // IHDR: ancho y alto en los bytes 16-23; su CRC (tipo + datos) en los bytes 29-32
+        header.putInt(16, 50_000);
+        header.putInt(20, 50_000);
+        CRC32 crc = new CRC32();
+        crc.update(png, 12, 17);
+        header.putInt(29, (int) crc.getValue());
+        MockMultipartFile bomb = new MockMultipartFile("imageFiles", "bomba.png", "image/png", png);
+
+        assertThrows(ValidationException.class, () -> placeService.create(placeWithFiles(List.of(bomb)), hostEmail));
+        assertEquals(before, storedFileCount());
+    }
+
+    private CreatePlaceDTO placeWithFiles(List<MultipartFile> files) {
+        return new CreatePlaceDTO(
+            "Casa Imágenes", "Casa para probar la subida", 2, 100000.0f,
+            null, files, List.of(Service.WIFI), 4.7110, -74.0721, "Calle 1", "CiudadImagenes"
+        );
+    }
+
+    private MockMultipartFile pngFile(String name, int width, int height, Color color) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return new MockMultipartFile("imageFiles", name + ".png", "image/png", out.toByteArray());
+    }
+
+    private MockMultipartFile delayedFile(MockMultipartFile file, long delayMs) throws IOException {
+        return new MockMultipartFile(file.getName(), file.getOriginalFilename(), file.getContentType(), file.getBytes()) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getInputStream();
+            }
+        };
+    }
+
+    private MockMultipartFile failingFile() {
+        return new MockMultipartFile("imageFiles", "rota.txt", "text/plain", new byte[0]) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                throw new IOException("Conexión cerrada durante la subida");
+            }
+        };
+    }
+
+    private Path storedPath(String url) {
+        return Paths.get(imagesDir).resolve(url.substring(imagesBaseUrl.length() + 1));
+    }
+
+    private long storedFileCount() throws IOException {
+        Path dir = Paths.get(imagesDir);
+        if (!Files.exists(dir)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.springframework.web.context.WebApplicationContext;
 
 import java.time.LocalDate;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -181,6 +182,41 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.error").value(false));
     }
 
+    // Subir la misma foto dos veces produce la misma URL y el archivo se sirve con ETag y Range
+    @Test
+    void uploadPhotoDeduplicatedAndServedWithRangeTest() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+            "file",
+            "photo.jpg",
+            "image/jpeg",
+            ("same image content " + userEmail).getBytes()
+        );
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.multipart("/api/users/{id}/photo", userId)
+                    .file(file)
+                    .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk());
+        }
+
+        String photoUrl = userRepository.findById(userId).orElseThrow().getPhotoUrl();
+        String hash = photoUrl.substring(photoUrl.lastIndexOf('/') + 1, photoUrl.lastIndexOf('.'));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(photoUrl))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + hash + "\""))
+                .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"))
+                .andExpect(content().bytes(file.getBytes()));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(photoUrl).header("Range", "bytes=0-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 0-3/" + file.getSize()))
+                .andExpect(content().string("same"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(photoUrl).header("If-None-Match", "\"" + hash + "\""))
+                .andExpect(status().isNotModified());
+    }
+
     // 8️⃣ TEST ESENCIAL: Solicitar reset de contraseña
     @Test
     void requestPasswordResetTest() throws Exception {
@@ -194,6 +230,44 @@ public class UserControllerTest {
     }
 
 
+    // El documento legal no queda en /uploads y solo lo descarga su dueño
+    @Test
+    void legalDocumentIsOnlyServedToItsOwnerTest() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+            "file",
+            "cedula.png",
+            "image/png",
+            ("documento legal " + userEmail).getBytes()
+        );
+
+        mockMvc.perform(MockMvcRequestBuilders.multipart("/api/users/{id}/legal-document", userId)
+                .file(file)
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+
+        String documentUrl = userRepository.findById(userId).orElseThrow().getLegalDocumentUrl();
+        assertTrue(documentUrl.startsWith("/api/users/" + userId + "/legal-document/"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(documentUrl)
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(content().bytes(file.getBytes()));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(documentUrl))
+                .andExpect(status().isUnauthorized());
+
+        String otherToken = jwtUtil.generateToken("otro", "otro" + System.currentTimeMillis() + "@example.com");
+        mockMvc.perform(MockMvcRequestBuilders.get(documentUrl)
+                .header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isForbidden());
+
+        // Tampoco se puede descargar por la ruta pública direccionada por contenido
+        String hash = documentUrl.substring(documentUrl.lastIndexOf('/') + 1, documentUrl.lastIndexOf('.'));
+        mockMvc.perform(MockMvcRequestBuilders.get("/uploads/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + ".png"))
+                .andExpect(status().isNotFound());
+    }
+
     // 1️⃣1️⃣ TEST ADICIONAL: Eliminar documento legal
     @Test
     void deleteLegalDocumentSuccessfulTest() throws Exception {
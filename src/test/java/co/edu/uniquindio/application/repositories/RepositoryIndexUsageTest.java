@@ -0,0 +1,121 @@
+package co.edu.uniquindio.application.repositories;
+
+import co.edu.uniquindio.application.config.SchemaIndexVerifier;
+import co.edu.uniquindio.application.config.query.CapturedStatements;
+import co.edu.uniquindio.application.model.enums.BookingStatus;
+import co.edu.uniquindio.application.model.enums.Service;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Regresión de planes de ejecución en H2: las consultas calientes de BookingRepository, PlaceRepository,
+ * CommentRepository y PasswordResetCodeRepository deben resolverse con un índice y no con un table scan.
+ * Se analiza el SQL que Hibernate genera de verdad (capturado con QueryInspector), no una versión a mano.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:app-test.properties")
+@Transactional
+public class RepositoryIndexUsageTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SchemaIndexVerifier schemaIndexVerifier;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PlaceRepository placeRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PasswordResetCodeRepository passwordResetCodeRepository;
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2030, 1, 10, 0, 0);
+
+    @Test
+    void declaredIndexesExistTest() throws Exception {
+        assertTrue(schemaIndexVerifier.findMissingIndexes().isEmpty());
+    }
+
+    @Test
+    void bookingQueriesUseIndexesTest() {
+        assertUsesIndex(() -> bookingRepository.findOverlappingBookings(1L, FROM, TO),
+                "idx_booking_place_status_dates");
+        assertUsesIndex(() -> bookingRepository.countBookingsByPlaceAndDates(1L, FROM, TO),
+                "idx_booking_place_status_dates");
+        assertUsesIndex(() -> bookingRepository.findItemsByPlaceAndFilters(
+                1L, BookingStatus.CONFIRMED, FROM, TO, PageRequest.of(0, 10)), null);
+        assertUsesIndex(() -> bookingRepository.findItemsByUserAndStatus(
+                "guest@example.com", BookingStatus.CONFIRMED, PageRequest.of(0, 10)), null);
+        assertUsesIndex(() -> bookingRepository.findIdsToComplete(TO, PageRequest.of(0, 10)),
+                "idx_booking_status_checkout");
+    }
+
+    @Test
+    void placeSearchUsesIndexTest() {
+        // Con y sin filtros opcionales: el SQL de Hibernate conserva los "? IS NULL OR ..." en ambos casos
+        assertUsesIndex(() -> placeRepository.searchAvailablePlaces(
+                "Armenia", 100.0, 200.0, List.of(Service.WIFI), 4.0, -76.0, 5.0, -75.0, 3.0, 150f, 10L,
+                PageRequest.of(0, 20)), null);
+        assertUsesIndex(() -> placeRepository.searchAvailablePlaces(
+                null, null, null, null, null, null, null, null, null, null, null,
+                PageRequest.of(0, 20)), null);
+    }
+
+    @Test
+    void commentAndResetCodeQueriesUseIndexesTest() {
+        // findItemsByPlaceId: H2 puede preferir el índice de la FK, basta con que no recorra la tabla
+        assertUsesIndex(() -> commentRepository.findItemsByPlaceId(1L, TO, 10L, PageRequest.of(0, 10)), null);
+
+        // email además es único
+        assertUsesIndex(() -> passwordResetCodeRepository.findByEmailAndCodeAndUsedFalse("user@example.com", "123456"), null);
+    }
+
+    /**
+     * Ejecuta la consulta del repositorio, captura el SQL que generó Hibernate y aplica EXPLAIN a cada SELECT.
+     * EXPLAIN no ejecuta la consulta y H2 elige el plan al prepararla, así que los parámetros se ligan a NULL.
+     */
+    private void assertUsesIndex(Runnable query, String expectedIndex) {
+        List<String> selects = CapturedStatements.selects(query);
+        assertFalse(selects.isEmpty(), "No se capturó ninguna sentencia");
+
+        for (String sql : selects) {
+            String plan = explain(sql);
+            assertFalse(plan.contains("tableScan"), () -> "Table scan en el plan: " + plan);
+        }
+        if (expectedIndex != null) {
+            String plan = explain(selects.get(0));
+            assertTrue(plan.toUpperCase().contains(expectedIndex.toUpperCase()),
+                    () -> "Se esperaba " + expectedIndex + " en el plan: " + plan);
+        }
+    }
+
+    private String explain(String sql) {
+        long parameters = sql.chars().filter(c -> c == '?').count();
+        return jdbcTemplate.query("EXPLAIN " + sql,
+                ps -> {
+                    for (int i = 1; i <= parameters; i++) {
+                        ps.setNull(i, Types.NULL);
+                    }
+                },
+                rs -> rs.next() ? rs.getString(1) : "");
+    }
+}
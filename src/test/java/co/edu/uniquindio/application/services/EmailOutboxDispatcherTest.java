@@ -0,0 +1,199 @@
+package co.edu.uniquindio.application.services;
+
+import co.edu.uniquindio.application.model.entity.EmailOutbox;
+import co.edu.uniquindio.application.model.enums.EmailOutboxStatus;
+import co.edu.uniquindio.application.repositories.EmailOutboxRepository;
+import co.edu.uniquindio.application.services.impl.EmailOutboxDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:app-test.properties")
+@Transactional
+public class EmailOutboxDispatcherTest {
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private JavaMailSender mailSender;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = mock(JavaMailSender.class);
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+
+        // Instancia propia: el despachador del contexto está deshabilitado en pruebas (email.outbox.enabled=false)
+        dispatcher = new EmailOutboxDispatcher(emailOutboxRepository, mailSender, new SimpleMeterRegistry(), transactionTemplate);
+        ReflectionTestUtils.setField(dispatcher, "enabled", true);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "backoffSeconds", 30L);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 300L);
+        ReflectionTestUtils.setField(dispatcher, "retention", Duration.ofDays(7));
+        ReflectionTestUtils.setField(dispatcher, "purgeBatchSize", 1);
+    }
+
+    @Test
+    public void dispatchSendsWholeBatchInOneCallTest() {
+        List<Long> ids = List.of(pending("a@test.com"), pending("b@test.com"), pending("c@test.com"));
+
+        dispatcher.dispatch();
+
+        verify(mailSender, times(1)).send(any(MimeMessage[].class));
+        for (Long id : ids) {
+            EmailOutbox email = emailOutboxRepository.findById(id).orElseThrow();
+            assertEquals(EmailOutboxStatus.SENT, email.getStatus());
+            assertEquals(1, email.getAttempts());
+            assertNotNull(email.getSentAt());
+            assertNull(email.getClaimToken());
+        }
+
+        // Nada pendiente: un segundo ciclo no vuelve a enviar
+        dispatcher.dispatch();
+        verify(mailSender, times(1)).send(any(MimeMessage[].class));
+    }
+
+    @Test
+    public void partialFailureRetriesOnlyFailedMessagesTest() {
+        Long sentId = pending("ok@test.com");
+        Long failedId = pending("fail@test.com");
+
+        doAnswer(invocation -> {
+            MimeMessage[] messages = invocation.getArgument(0);
+            throw new MailSendException(Map.of(messages[1], new RuntimeException("buzón lleno")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+
+        EmailOutbox sent = emailOutboxRepository.findById(sentId).orElseThrow();
+        assertEquals(EmailOutboxStatus.SENT, sent.getStatus());
+
+        EmailOutbox failed = emailOutboxRepository.findById(failedId).orElseThrow();
+        assertEquals(EmailOutboxStatus.PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertEquals("buzón lleno", failed.getLastError());
+        assertNull(failed.getClaimToken());
+        assertFalse(failed.getNextAttemptAt().isBefore(before.plusSeconds(30)));
+    }
+
+    @Test
+    public void failedBatchBacksOffExponentiallyUntilMaxAttemptsTest() {
+        Long id = pending("down@test.com");
+        doThrow(new MailAuthenticationException("credenciales inválidas")).when(mailSender).send(any(MimeMessage[].class));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+        EmailOutbox email = emailOutboxRepository.findById(id).orElseThrow();
+        assertEquals(1, email.getAttempts());
+        assertFalse(email.getNextAttemptAt().isBefore(before.plusSeconds(30)));
+        assertTrue(email.getNextAttemptAt().isBefore(before.plusSeconds(60)));
+
+        // Mientras no vence el backoff el correo no se vuelve a intentar
+        dispatcher.dispatch();
+        verify(mailSender, times(1)).send(any(MimeMessage[].class));
+
+        makeDue(id);
+        before = LocalDateTime.now();
+        dispatcher.dispatch();
+        email = emailOutboxRepository.findById(id).orElseThrow();
+        assertEquals(2, email.getAttempts());
+        assertFalse(email.getNextAttemptAt().isBefore(before.plusSeconds(60)));
+        assertTrue(email.getNextAttemptAt().isBefore(before.plusSeconds(120)));
+
+        makeDue(id);
+        dispatcher.dispatch();
+        email = emailOutboxRepository.findById(id).orElseThrow();
+        assertEquals(EmailOutboxStatus.FAILED, email.getStatus());
+        assertEquals(3, email.getAttempts());
+    }
+
+    @Test
+    public void claimedEmailsAreNotSentByAnotherDispatcherTest() {
+        Long id = pending("claimed@test.com");
+        // Otro despachador lo reclamó y su plazo sigue vigente
+        EmailOutbox email = emailOutboxRepository.findById(id).orElseThrow();
+        email.setClaimToken("otro-despachador");
+        email.setNextAttemptAt(LocalDateTime.now().plusMinutes(5));
+        emailOutboxRepository.saveAndFlush(email);
+
+        dispatcher.dispatch();
+
+        verify(mailSender, never()).send(any(MimeMessage[].class));
+        assertEquals(EmailOutboxStatus.PENDING, emailOutboxRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void purgeDeletesOnlySentEmailsPastRetentionTest() {
+        Long oldSent = sent("viejo1@test.com", LocalDateTime.now().minusDays(10));
+        Long olderSent = sent("viejo2@test.com", LocalDateTime.now().minusDays(30));
+        Long recentSent = sent("reciente@test.com", LocalDateTime.now().minusDays(1));
+        Long stillPending = pending("pendiente@test.com");
+
+        // Lotes de una fila: la purga sigue hasta agotar los vencidos
+        dispatcher.purgeSent();
+
+        assertFalse(emailOutboxRepository.existsById(oldSent));
+        assertFalse(emailOutboxRepository.existsById(olderSent));
+        assertTrue(emailOutboxRepository.existsById(recentSent));
+        assertTrue(emailOutboxRepository.existsById(stillPending));
+    }
+
+    private Long sent(String recipient, LocalDateTime sentAt) {
+        return emailOutboxRepository.saveAndFlush(EmailOutbox.builder()
+                .recipient(recipient)
+                .subject("Prueba")
+                .body("Cuerpo")
+                .status(EmailOutboxStatus.SENT)
+                .attempts(1)
+                .createdAt(sentAt)
+                .nextAttemptAt(sentAt)
+                .sentAt(sentAt)
+                .build()).getId();
+    }
+
+    private Long pending(String recipient) {
+        LocalDateTime now = LocalDateTime.now().minusSeconds(1);
+        return emailOutboxRepository.saveAndFlush(EmailOutbox.builder()
+                .recipient(recipient)
+                .subject("Prueba")
+                .body("Cuerpo")
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build()).getId();
+    }
+
+    private void makeDue(Long id) {
+        EmailOutbox email = emailOutboxRepository.findById(id).orElseThrow();
+        email.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        emailOutboxRepository.saveAndFlush(email);
+    }
+}